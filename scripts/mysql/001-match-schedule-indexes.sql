@@ -0,0 +1,14 @@
+-- Indexes behind the match calendar and per-team schedule queries (MatchRepository.findCalendarBy*,
+-- findDateTimesByTeam for the team clash check, and the streamCalendar* feeds). The application runs with
+-- spring.jpa.hibernate.ddl-auto=none, so the @Index declarations on Match are not applied by Hibernate;
+-- run this once against each MySQL database (every shard when sharding is enabled):
+--
+--   mysql -u root -p matchapp < scripts/mysql/001-match-schedule-indexes.sql
+--
+-- The indexes are built online (InnoDB in-place, no table lock).
+
+alter table t_matches
+    add index idx_matches_tournament_date_time (tournament_id, date_time),
+    add index idx_matches_home_date_time (home_id, date_time),
+    add index idx_matches_away_date_time (away_id, date_time),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,12 @@
+-- Index behind the keyset-paginated team listing (GET /api/tournaments/{id}/teams, TeamRepository.findPage):
+-- a page is a range scan of (tournament_id, name, id) starting after the cursor, so deep pages cost the same as
+-- the first one. The application runs with spring.jpa.hibernate.ddl-auto=none, so the @Index declaration on Team
+-- is not applied by Hibernate; run this once against each MySQL database (every shard when sharding is enabled):
+--
+--   mysql -u root -p matchapp < scripts/mysql/002-team-name-index.sql
+--
+-- The index is built online (InnoDB in-place, no table lock).
+
+alter table t_teams
+    add index idx_teams_tournament_name (tournament_id, name, id),
+    algorithm = inplace, lock = none;
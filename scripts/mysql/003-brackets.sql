@@ -0,0 +1,17 @@
+-- Table for knockout bracket definitions (KnockoutBracket). A bracket's progress is replayed from its matches, so
+-- only the definition is stored. The application runs with spring.jpa.hibernate.ddl-auto=none; run this once
+-- against each MySQL database (every shard when sharding is enabled):
+--
+--   mysql -u root -p matchapp < scripts/mysql/003-brackets.sql
+
+create table t_brackets (
+    id binary(16) not null,
+    tournament_id binary(16) not null,
+    format varchar(255) not null,
+    seeds text not null,
+    start_date_time datetime(6) not null,
+    round_interval_hours integer not null,
+    revision integer not null,
+    primary key (id),
+    constraint fk_brackets_tournament foreign key (tournament_id) references m_tournaments (id)
+) engine = InnoDB;
@@ -0,0 +1,26 @@
+-- Tables for archived tournaments (ArchivedTournament) and the job lease that lets one instance archive at a time
+-- (JobLock). The application runs with spring.jpa.hibernate.ddl-auto=none; run this once against each MySQL database
+-- (every shard when sharding is enabled; job leases only use the first):
+--
+--   mysql -u root -p matchapp < scripts/mysql/004-archives.sql
+
+create table t_archived_tournaments (
+    id binary(16) not null,
+    name varchar(255) not null,
+    location varchar(255) not null,
+    start_date date not null,
+    end_date date not null,
+    is_full bit not null,
+    archived_at bigint not null,
+    teams mediumblob not null,
+    matches mediumblob not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table t_job_locks (
+    id binary(16) not null,
+    name varchar(255) not null,
+    owner varchar(255) not null,
+    locked_until bigint not null,
+    primary key (id)
+) engine = InnoDB;
@@ -0,0 +1,10 @@
+-- Table for the versions of tournaments' calendar feeds (FeedVersion). The application runs with
+-- spring.jpa.hibernate.ddl-auto=none; run this once against each MySQL database (every shard when sharding is enabled):
+--
+--   mysql -u root -p matchapp < scripts/mysql/005-feed-versions.sql
+
+create table t_feed_versions (
+    id binary(16) not null,
+    version bigint not null,
+    primary key (id)
+) engine = InnoDB;
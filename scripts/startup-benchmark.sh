@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Reports time from JVM launch to the first successful API response, for the plain start and for the
+# fast-start build (AOT, lazy initialization, deferred repositories and the AppCDS archive).
+# Run scripts/build-fast-start.sh first. Usage: scripts/startup-benchmark.sh [runs] [port]
+set -euo pipefail
+cd "$(dirname "$0")/../target/fast-start"
+
+RUNS=${1:-5}
+PORT=${2:-8080}
+CLASSPATH_ARG=$(cat classpath)
+
+measure() {
+  local started now pid
+  started=$(date +%s%N)
+  java "$@" -Dserver.port="$PORT" -cp "$CLASSPATH_ARG" matchapp.MatchappApplication > /dev/null 2>&1 &
+  pid=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/tournaments")" = "200" ]; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "application exited before serving a request" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  now=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" || true
+  echo $(( (now - started) / 1000000 ))
+}
+
+report() {
+  local name=$1 total=0 time
+  shift
+  for _ in $(seq "$RUNS"); do
+    time=$(measure "$@")
+    total=$((total + time))
+    echo "$name: ${time} ms"
+  done
+  echo "$name: average $((total / RUNS)) ms to first request"
+}
+
+report baseline
+report fast-start -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start
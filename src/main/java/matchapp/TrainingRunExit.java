@@ -0,0 +1,31 @@
+package matchapp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the application as soon as it is ready, so a training run can dump the class-data sharing archive. The flag is
+ * read at runtime rather than as a bean condition, since AOT processing would fix a condition at build time.
+ */
+@Component
+public class TrainingRunExit {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${matchapp.startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exit() {
+        if (exitOnReady) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package matchapp.controllers;
+
+import matchapp.models.ArchiveResponse;
+import matchapp.models.BaseResponse;
+import matchapp.services.ArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<ArchiveResponse> archive() {
+        ArchiveResponse response = archiveService.archive();
+        return BaseResponse.<ArchiveResponse>builder()
+                .status("success")
+                .message("Finished tournaments have been successfully archived.")
+                .data(response)
+                .build();
+    }
+
+}
@@ -0,0 +1,39 @@
+package matchapp.controllers;
+
+import matchapp.models.BaseResponse;
+import matchapp.models.BracketNodeResponse;
+import matchapp.models.BracketResponse;
+import matchapp.services.BracketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/brackets")
+public class BracketController {
+
+    @Autowired
+    private BracketService bracketService;
+
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<BracketResponse> findById(@PathVariable UUID id) {
+        BracketResponse response = bracketService.findById(id);
+        return BaseResponse.<BracketResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(path = "/{id}/teams/{team}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<BracketNodeResponse>> findPath(@PathVariable UUID id, @PathVariable UUID team) {
+        List<BracketNodeResponse> path = bracketService.findPath(id, team);
+        return BaseResponse.<List<BracketNodeResponse>>builder()
+                .status("success")
+                .data(path)
+                .build();
+    }
+
+}
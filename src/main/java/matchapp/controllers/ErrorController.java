@@ -1,6 +1,7 @@
 package matchapp.controllers;
 
 import jakarta.validation.ConstraintViolationException;
+import matchapp.errors.DomainException;
 import matchapp.models.BaseResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,11 @@ public class ErrorController {
                 .body(BaseResponse.<String>builder().status("error").message(exception.getMessage()).build());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<BaseResponse<String>> domainException(DomainException exception) {
+        return exception.getError().getResponse();
+    }
+
     @ExceptionHandler
     public ResponseEntity<BaseResponse<String>> apiException(ResponseStatusException exception) {
         return ResponseEntity.status(exception.getStatusCode())
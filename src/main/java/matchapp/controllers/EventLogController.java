@@ -0,0 +1,28 @@
+package matchapp.controllers;
+
+import matchapp.models.BaseResponse;
+import matchapp.models.EventLogStatsResponse;
+import matchapp.services.MatchEventLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventLogController {
+
+    @Autowired
+    private MatchEventLog matchEventLog;
+
+    @GetMapping(path = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<EventLogStatsResponse> stats() {
+        EventLogStatsResponse response = matchEventLog.stats();
+        return BaseResponse.<EventLogStatsResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+}
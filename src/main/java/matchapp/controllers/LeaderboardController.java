@@ -0,0 +1,47 @@
+package matchapp.controllers;
+
+import matchapp.models.BaseResponse;
+import matchapp.models.LeaderboardResponse;
+import matchapp.services.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<LeaderboardResponse>> findTop(@RequestParam(required = false) String metric, @RequestParam(required = false) Integer limit) {
+        List<LeaderboardResponse> leaderboard = leaderboardService.findTop(metric, limit);
+        return BaseResponse.<List<LeaderboardResponse>>builder()
+                .status("success")
+                .data(leaderboard)
+                .build();
+    }
+
+    @GetMapping(path = "/teams/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<LeaderboardResponse> findByTeam(@PathVariable UUID id, @RequestParam(required = false) String metric) {
+        LeaderboardResponse standing = leaderboardService.findByTeam(id, metric);
+        return BaseResponse.<LeaderboardResponse>builder()
+                .status("success")
+                .data(standing)
+                .build();
+    }
+
+    @PostMapping(path = "/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<String> rebuild() {
+        leaderboardService.rebuild();
+        return BaseResponse.<String>builder()
+                .status("success")
+                .message("Leaderboard has been successfully rebuilt.")
+                .build();
+    }
+
+}
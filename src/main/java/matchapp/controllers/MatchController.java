@@ -1,14 +1,24 @@
 package matchapp.controllers;
 
+import matchapp.entities.Match;
 import matchapp.models.BaseResponse;
+import matchapp.models.MatchIngestionResponse;
+import matchapp.models.MatchIngestionStatsResponse;
 import matchapp.models.MatchRequest;
+import matchapp.models.MatchResultRequest;
+import matchapp.services.MatchIngestionService;
 import matchapp.services.MatchService;
+import matchapp.services.ScheduleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/matches")
@@ -17,6 +27,12 @@ public class MatchController {
     @Autowired
     private MatchService matchService;
 
+    @Autowired
+    private MatchIngestionService matchIngestionService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public BaseResponse<String> create(@RequestBody MatchRequest request) {
         matchService.create(request);
@@ -26,4 +42,64 @@ public class MatchController {
                 .build();
     }
 
+    @PostMapping(path = "/{id}/result", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<String> recordResult(@PathVariable UUID id, @RequestBody MatchResultRequest request) {
+        matchService.recordResult(id, request);
+        return BaseResponse.<String>builder()
+                .status("success")
+                .message("Match result has been successfully recorded.")
+                .build();
+    }
+
+    @PostMapping(path = "/ingest", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BaseResponse<MatchIngestionResponse>> ingest(@RequestBody MatchRequest request) {
+        MatchIngestionResponse response = matchIngestionService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(BaseResponse.<MatchIngestionResponse>builder()
+                        .status("success")
+                        .message("Match has been queued for ingestion.")
+                        .data(response)
+                        .build());
+    }
+
+    @GetMapping(path = "/ingest/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<MatchIngestionStatsResponse> ingestStats() {
+        MatchIngestionStatsResponse response = matchIngestionService.stats();
+        return BaseResponse.<MatchIngestionStatsResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(path = "/ingest/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<MatchIngestionResponse> ingestStatus(@PathVariable UUID id) {
+        MatchIngestionResponse response = matchIngestionService.findById(id);
+        return BaseResponse.<MatchIngestionResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(path = "/calendar", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<Match>> calendar(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(required = false) UUID tournament,
+                                              @RequestParam(required = false) UUID team) {
+        List<Match> matches = scheduleService.findCalendar(from, to, tournament, team);
+        return BaseResponse.<List<Match>>builder()
+                .status("success")
+                .data(matches)
+                .build();
+    }
+
+    @GetMapping(path = "/today", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<Match>> today(@RequestParam(required = false) UUID tournament,
+                                           @RequestParam(required = false) UUID team) {
+        List<Match> matches = scheduleService.findToday(tournament, team);
+        return BaseResponse.<List<Match>>builder()
+                .status("success")
+                .data(matches)
+                .build();
+    }
+
 }
@@ -0,0 +1,42 @@
+package matchapp.controllers;
+
+import matchapp.models.BaseResponse;
+import matchapp.models.RatingResponse;
+import matchapp.services.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/ratings")
+public class RatingController {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<RatingResponse>> findAll(@RequestParam(required = false) UUID tournament, @RequestParam(required = false) Integer limit) {
+        List<RatingResponse> ratings = ratingService.findAll(tournament, limit);
+        return BaseResponse.<List<RatingResponse>>builder()
+                .status("success")
+                .data(ratings)
+                .build();
+    }
+
+    @PostMapping(path = "/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<String> rebuild(@RequestParam(required = false) String source) {
+        if ("log".equals(source)) {
+            ratingService.rebuildFromLog();
+        } else {
+            ratingService.rebuild();
+        }
+        return BaseResponse.<String>builder()
+                .status("success")
+                .message("Ratings have been successfully rebuilt.")
+                .build();
+    }
+
+}
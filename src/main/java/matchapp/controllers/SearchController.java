@@ -0,0 +1,31 @@
+package matchapp.controllers;
+
+import matchapp.models.BaseResponse;
+import matchapp.models.SearchResult;
+import matchapp.services.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<SearchResult>> search(@RequestParam(required = false) String q, @RequestParam(required = false) Integer limit) {
+        List<SearchResult> results = searchService.search(q, limit);
+        return BaseResponse.<List<SearchResult>>builder()
+                .status("success")
+                .data(results)
+                .build();
+    }
+
+}
@@ -0,0 +1,29 @@
+package matchapp.controllers;
+
+import matchapp.models.BaseResponse;
+import matchapp.models.SnapshotResponse;
+import matchapp.services.SnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/snapshots")
+public class SnapshotController {
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<SnapshotResponse> save() {
+        SnapshotResponse response = snapshotService.save();
+        return BaseResponse.<SnapshotResponse>builder()
+                .status("success")
+                .message("Snapshot has been successfully written.")
+                .data(response)
+                .build();
+    }
+
+}
@@ -1,12 +1,22 @@
 package matchapp.controllers;
 
+import jakarta.servlet.http.HttpServletResponse;
+import matchapp.entities.Team;
 import matchapp.models.BaseResponse;
+import matchapp.models.BatchResponse;
+import matchapp.models.HeadToHeadResponse;
 import matchapp.models.TeamRequest;
+import matchapp.services.CalendarFeedService;
+import matchapp.services.HeadToHeadService;
 import matchapp.services.TeamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -16,6 +26,12 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private HeadToHeadService headToHeadService;
+
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public BaseResponse<String> create(@RequestBody TeamRequest request) {
         teamService.create(request);
@@ -25,6 +41,44 @@ public class TeamController {
                 .build();
     }
 
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<BatchResponse<Team>> findAllById(@RequestParam List<UUID> ids) {
+        BatchResponse<Team> response = teamService.findAllById(ids);
+        return BaseResponse.<BatchResponse<Team>>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<Team> findById(@PathVariable UUID id) {
+        Team team = teamService.findById(id);
+        return BaseResponse.<Team>builder()
+                .status("success")
+                .data(team)
+                .build();
+    }
+
+    @GetMapping(path = "/{id}/calendar.ics")
+    public void calendar(@PathVariable UUID id, WebRequest request, HttpServletResponse response) throws IOException {
+        String eTag = calendarFeedService.teamETag(id);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, calendarFeedService.cacheControl().getHeaderValue());
+        if (request.checkNotModified(eTag)) {
+            return;
+        }
+
+        response.setContentType(CalendarFeedService.CONTENT_TYPE);
+        try {
+            calendarFeedService.writeTeam(id, response.getOutputStream());
+        } catch (RuntimeException e) {
+            // Deleted since the ETag check: drop the cache headers so the error is not cached.
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+    }
+
     @PostMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public BaseResponse<String> update(@PathVariable UUID id, @RequestBody TeamRequest request) {
         teamService.update(id, request);
@@ -34,4 +88,13 @@ public class TeamController {
                 .build();
     }
 
+    @GetMapping(path = "/{id}/head-to-head/{opponent}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<HeadToHeadResponse> headToHead(@PathVariable UUID id, @PathVariable UUID opponent) {
+        HeadToHeadResponse response = headToHeadService.headToHead(id, opponent);
+        return BaseResponse.<HeadToHeadResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
 }
@@ -1,15 +1,34 @@
 package matchapp.controllers;
 
+import jakarta.servlet.http.HttpServletResponse;
 import matchapp.entities.Tournament;
 import matchapp.models.BaseResponse;
+import matchapp.models.BatchResponse;
+import matchapp.models.BracketRequest;
+import matchapp.models.BracketResponse;
+import matchapp.models.SimulationResponse;
+import matchapp.models.SwissRoundRequest;
+import matchapp.models.SwissRoundResponse;
+import matchapp.models.TeamPageResponse;
+import matchapp.models.TiebreakerRequest;
+import matchapp.models.TiebreakerStanding;
 import matchapp.models.TournamentByIdResponse;
 import matchapp.models.TournamentRequest;
+import matchapp.services.BracketService;
+import matchapp.services.CalendarFeedService;
+import matchapp.services.HeadToHeadService;
+import matchapp.services.SimulationService;
+import matchapp.services.SwissService;
 import matchapp.services.TournamentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +38,21 @@ public class TournamentController {
     @Autowired
     private TournamentService tournamentService;
 
+    @Autowired
+    private HeadToHeadService headToHeadService;
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private SwissService swissService;
+
+    @Autowired
+    private SimulationService simulationService;
+
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public BaseResponse<String> create(@RequestBody TournamentRequest request) {
         tournamentService.create(request);
@@ -37,15 +71,72 @@ public class TournamentController {
                 .build();
     }
 
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<BatchResponse<Tournament>> findAllById(@RequestParam List<UUID> ids) {
+        BatchResponse<Tournament> response = tournamentService.findAllById(ids);
+        return BaseResponse.<BatchResponse<Tournament>>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(params = {"fields", "!ids"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<Map<String, Object>>> findAll(@RequestParam String fields) {
+        List<Map<String, Object>> tournaments = tournamentService.findAll(fields);
+        return BaseResponse.<List<Map<String, Object>>>builder()
+                .status("success")
+                .data(tournaments)
+                .build();
+    }
+
+    @GetMapping(path = "/{id}", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<Map<String, Object>> findById(@PathVariable UUID id, @RequestParam String fields) {
+        Map<String, Object> response = tournamentService.findById(id, fields);
+        return BaseResponse.<Map<String, Object>>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
     @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public BaseResponse<TournamentByIdResponse> findById(@PathVariable UUID id) {
-        TournamentByIdResponse response = tournamentService.findById(id);
+    public BaseResponse<TournamentByIdResponse> findById(@PathVariable UUID id, @RequestParam(defaultValue = "true") boolean teams) {
+        TournamentByIdResponse response = tournamentService.findById(id, teams);
         return BaseResponse.<TournamentByIdResponse>builder()
                 .status("success")
                 .data(response)
                 .build();
     }
 
+    @GetMapping(path = "/{id}/teams", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<TeamPageResponse> findTeams(@PathVariable UUID id, @RequestParam(required = false) String prefix,
+                                                    @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit) {
+        TeamPageResponse response = tournamentService.findTeams(id, prefix, after, limit);
+        return BaseResponse.<TeamPageResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(path = "/{id}/calendar.ics")
+    public void calendar(@PathVariable UUID id, WebRequest request, HttpServletResponse response) throws IOException {
+        String eTag = calendarFeedService.tournamentETag(id);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, calendarFeedService.cacheControl().getHeaderValue());
+        if (request.checkNotModified(eTag)) {
+            return;
+        }
+
+        response.setContentType(CalendarFeedService.CONTENT_TYPE);
+        try {
+            calendarFeedService.writeTournament(id, response.getOutputStream());
+        } catch (RuntimeException e) {
+            // Deleted since the ETag check: drop the cache headers so the error is not cached.
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+    }
+
     @PostMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public BaseResponse<String> update(@PathVariable UUID id, @RequestBody TournamentRequest request) {
         tournamentService.update(id, request);
@@ -55,4 +146,60 @@ public class TournamentController {
                 .build();
     }
 
+    @DeleteMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<String> delete(@PathVariable UUID id) {
+        tournamentService.delete(id);
+        return BaseResponse.<String>builder()
+                .status("success")
+                .message("Tournament has been successfully deleted.")
+                .build();
+    }
+
+    @PostMapping(path = "/{id}/tiebreakers", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<List<TiebreakerStanding>> tiebreak(@PathVariable UUID id, @RequestBody TiebreakerRequest request) {
+        List<TiebreakerStanding> standings = headToHeadService.tiebreak(id, request);
+        return BaseResponse.<List<TiebreakerStanding>>builder()
+                .status("success")
+                .data(standings)
+                .build();
+    }
+
+    @PostMapping(path = "/{id}/brackets", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<BracketResponse> createBracket(@PathVariable UUID id, @RequestBody BracketRequest request) {
+        BracketResponse response = bracketService.create(id, request);
+        return BaseResponse.<BracketResponse>builder()
+                .status("success")
+                .message("Bracket has been successfully created.")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(path = "/{id}/simulation", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<SimulationResponse> simulate(@PathVariable UUID id, @RequestParam(required = false) Integer runs) {
+        SimulationResponse response = simulationService.simulate(id, runs);
+        return BaseResponse.<SimulationResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @GetMapping(path = "/{id}/swiss/pairings", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<SwissRoundResponse> previewSwissRound(@PathVariable UUID id) {
+        SwissRoundResponse response = swissService.preview(id);
+        return BaseResponse.<SwissRoundResponse>builder()
+                .status("success")
+                .data(response)
+                .build();
+    }
+
+    @PostMapping(path = "/{id}/swiss/rounds", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public BaseResponse<SwissRoundResponse> createSwissRound(@PathVariable UUID id, @RequestBody SwissRoundRequest request) {
+        SwissRoundResponse response = swissService.createRound(id, request);
+        return BaseResponse.<SwissRoundResponse>builder()
+                .status("success")
+                .message("Swiss round has been successfully created.")
+                .data(response)
+                .build();
+    }
+
 }
@@ -0,0 +1,52 @@
+package matchapp.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An archived tournament, kept on its shard under its own id after its rows are purged. The tournament columns are
+ * plain so a lookup reads only what it needs; teams and matches are gzip JSON, written and read whole.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+// ddl-auto is off: MySQL gets this table from scripts/mysql/004-archives.sql.
+@Table(name = "t_archived_tournaments")
+public class ArchivedTournament {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private Boolean isFull;
+
+    @Column(nullable = false)
+    private Long archivedAt;
+
+    @Column(nullable = false, length = 16777215)
+    private byte[] teams;
+
+    @Column(nullable = false, length = 16777215)
+    private byte[] matches;
+
+}
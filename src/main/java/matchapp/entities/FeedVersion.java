@@ -0,0 +1,32 @@
+package matchapp.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * The version of a tournament's calendar feeds, bumped by every transaction that saves the tournament, one of its teams
+ * or one of its matches. It lives on the tournament's shard, keyed by the tournament's id, and has no foreign key so
+ * that bumping it does not contend with the tournament's row. Rows outlive their tournament, so the sum of all versions
+ * only grows and serves as a database-wide high-water mark of those writes.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+// ddl-auto is off: MySQL gets this table from scripts/mysql/005-feed-versions.sql.
+@Table(name = "t_feed_versions")
+public class FeedVersion {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private Long version;
+
+}
@@ -0,0 +1,36 @@
+package matchapp.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A lease on a scheduled job, so that only one instance runs it at a time. The id is derived from the job name, and
+ * the lease lapses on its own if its owner dies.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+// ddl-auto is off: MySQL gets this table from scripts/mysql/004-archives.sql.
+@Table(name = "t_job_locks")
+public class JobLock {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private Long lockedUntil;
+
+}
@@ -0,0 +1,51 @@
+package matchapp.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import matchapp.sharding.ShardedId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The definition of a knockout bracket. Its progress is not stored: the bracket is replayed from the definition and
+ * the tournament's matches, and the revision only orders concurrent replays.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+// ddl-auto is off: MySQL gets this table from scripts/mysql/003-brackets.sql.
+@Table(name = "t_brackets")
+public class KnockoutBracket {
+
+    @Id
+    @ShardedId
+    private UUID id;
+
+    @JoinColumn(nullable = false)
+    @ManyToOne
+    private Tournament tournament;
+
+    @Column(nullable = false)
+    private String format;
+
+    @Convert(converter = UuidListConverter.class)
+    @Column(nullable = false, length = 65535)
+    private List<UUID> seeds;
+
+    @Column(nullable = false)
+    private LocalDateTime startDateTime;
+
+    @Column(nullable = false)
+    private Integer roundIntervalHours;
+
+    @Column(nullable = false)
+    private Integer revision;
+
+}
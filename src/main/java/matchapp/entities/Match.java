@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import matchapp.sharding.ShardedId;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -14,11 +15,16 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "t_matches")
+// ddl-auto is off: MySQL gets these indexes from scripts/mysql/001-match-schedule-indexes.sql.
+@Table(name = "t_matches", indexes = {
+        @Index(name = "idx_matches_tournament_date_time", columnList = "tournament_id, dateTime"),
+        @Index(name = "idx_matches_home_date_time", columnList = "home_id, dateTime"),
+        @Index(name = "idx_matches_away_date_time", columnList = "away_id, dateTime")
+})
 public class Match {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ShardedId
     private UUID id;
 
     @JoinColumn(nullable = false)
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import matchapp.sharding.ShardedId;
 
 import java.util.UUID;
 
@@ -13,11 +14,14 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "t_teams")
+// ddl-auto is off: MySQL gets this index from scripts/mysql/002-team-name-index.sql.
+@Table(name = "t_teams", indexes = {
+        @Index(name = "idx_teams_tournament_name", columnList = "tournament_id, name, id")
+})
 public class Team {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ShardedId
     private UUID id;
 
     @JoinColumn(nullable = false)
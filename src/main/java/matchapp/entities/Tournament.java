@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import matchapp.sharding.ShardedId;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -18,7 +19,7 @@ import java.util.UUID;
 public class Tournament {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ShardedId
     private UUID id;
 
     @Column(nullable = false)
@@ -0,0 +1,27 @@
+package matchapp.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stores an ordered list of ids as one comma-separated column.
+ */
+@Converter
+public class UuidListConverter implements AttributeConverter<List<UUID>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<UUID> ids) {
+        return ids.stream().map(UUID::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public List<UUID> convertToEntityAttribute(String column) {
+        return column.isEmpty() ? List.of() : Arrays.stream(column.split(",")).map(UUID::fromString).toList();
+    }
+
+}
@@ -0,0 +1,66 @@
+package matchapp.errors;
+
+import matchapp.models.BaseResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Routine outcomes of the service layer. Each one carries its error response, built once, so reporting it costs no
+ * more than the stackless {@link DomainException} thrown for it.
+ */
+public enum DomainError {
+
+    TOURNAMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "Tournament not found."),
+    TEAM_NOT_FOUND(HttpStatus.NOT_FOUND, "Team not found."),
+    HOME_TEAM_NOT_FOUND(HttpStatus.NOT_FOUND, "Home team not found."),
+    AWAY_TEAM_NOT_FOUND(HttpStatus.NOT_FOUND, "Away team not found."),
+    HOME_TEAM_NOT_IN_TOURNAMENT(HttpStatus.NOT_FOUND, "Home team not found in tournament."),
+    AWAY_TEAM_NOT_IN_TOURNAMENT(HttpStatus.NOT_FOUND, "Away team not found in tournament."),
+    OPPONENT_TEAM_NOT_FOUND(HttpStatus.NOT_FOUND, "Opponent team not found."),
+    MATCH_NOT_FOUND(HttpStatus.NOT_FOUND, "Match not found."),
+    BRACKET_NOT_FOUND(HttpStatus.NOT_FOUND, "Bracket not found."),
+    TEAM_NOT_IN_BRACKET(HttpStatus.NOT_FOUND, "Team not found in bracket."),
+    TEAM_NOT_IN_LEADERBOARD(HttpStatus.NOT_FOUND, "Team not found in leaderboard."),
+    INGESTION_NOT_FOUND(HttpStatus.NOT_FOUND, "Ingestion not found."),
+    TEAM_EXISTS(HttpStatus.CONFLICT, "Team already exists."),
+    TEAM_SHARD_MISMATCH(HttpStatus.CONFLICT, "Team cannot be moved to a tournament on another shard."),
+    MATCH_EXISTS(HttpStatus.CONFLICT, "Match already exists."),
+    MATCH_RESULT_RECORDED(HttpStatus.CONFLICT, "Match result already recorded."),
+    HOME_TEAM_CLASH(HttpStatus.CONFLICT, "Home team has another match too close to this date and time."),
+    AWAY_TEAM_CLASH(HttpStatus.CONFLICT, "Away team has another match too close to this date and time."),
+    ROUND_NOT_FINISHED(HttpStatus.CONFLICT, "Previous round is not finished."),
+    ARCHIVE_RUNNING(HttpStatus.CONFLICT, "Archive is already running on another instance."),
+    INGESTION_QUEUE_FULL(HttpStatus.TOO_MANY_REQUESTS, "Ingestion queue is full."),
+    CALENDAR_FEEDS_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Too many calendar feeds are being downloaded."),
+    SIMULATIONS_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Too many simulations are running.");
+
+    private final HttpStatus status;
+
+    private final String message;
+
+    private final ResponseEntity<BaseResponse<String>> response;
+
+    DomainError(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.response = ResponseEntity.status(status)
+                .body(BaseResponse.<String>builder().status("error").message(message).build());
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public ResponseEntity<BaseResponse<String>> getResponse() {
+        return response;
+    }
+
+    public DomainException exception() {
+        return new DomainException(this);
+    }
+
+}
@@ -0,0 +1,27 @@
+package matchapp.errors;
+
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A {@link ResponseStatusException} for a {@link DomainError} that skips stack trace capture. Existing handlers of
+ * {@code ResponseStatusException} keep working; {@code ErrorController} answers it with the error's prebuilt response.
+ */
+public class DomainException extends ResponseStatusException {
+
+    private final DomainError error;
+
+    DomainException(DomainError error) {
+        super(error.getStatus(), error.getMessage());
+        this.error = error;
+    }
+
+    public DomainError getError() {
+        return error;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
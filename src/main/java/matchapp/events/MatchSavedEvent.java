@@ -0,0 +1,13 @@
+package matchapp.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import matchapp.entities.Match;
+
+@Getter
+@AllArgsConstructor
+public class MatchSavedEvent {
+
+    private Match match;
+
+}
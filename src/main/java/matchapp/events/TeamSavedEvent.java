@@ -0,0 +1,20 @@
+package matchapp.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import matchapp.entities.Team;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class TeamSavedEvent {
+
+    private Team team;
+
+    /**
+     * The tournament the team was in before this save, or null if it is new.
+     */
+    private UUID previousTournament;
+
+}
@@ -0,0 +1,17 @@
+package matchapp.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class TournamentArchivedEvent {
+
+    private UUID tournament;
+
+    private List<UUID> teams;
+
+}
@@ -0,0 +1,13 @@
+package matchapp.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import matchapp.entities.Tournament;
+
+@Getter
+@AllArgsConstructor
+public class TournamentSavedEvent {
+
+    private Tournament tournament;
+
+}
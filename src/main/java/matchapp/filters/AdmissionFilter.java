@@ -0,0 +1,200 @@
+package matchapp.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import matchapp.models.BaseResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load before any controller or JPA work starts: first a per-client token bucket keyed by the authenticated
+ * principal (or the remote address, which is the client's own once forwarded headers are resolved), then an adaptive concurrency limit per endpoint group so reads and writes cannot starve each other.
+ * Streaming and long-running endpoints (exempt-paths) are only rate limited: they run on the bulk pool or their own
+ * executor, and their latency says nothing about how loaded the read and write pools are.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${matchapp.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matchapp.admission.rate-per-second:50}")
+    private double ratePerSecond;
+
+    @Value("${matchapp.admission.burst:100}")
+    private int burst;
+
+    @Value("${matchapp.admission.max-clients:100000}")
+    private int maxClients;
+
+    @Value("${matchapp.admission.per-address:true}")
+    private boolean perAddress;
+
+    @Value("${matchapp.admission.read.initial-limit:20}")
+    private int readInitialLimit;
+
+    @Value("${matchapp.admission.read.max-limit:25}")
+    private int readMaxLimit;
+
+    @Value("${matchapp.admission.write.initial-limit:10}")
+    private int writeInitialLimit;
+
+    @Value("${matchapp.admission.write.max-limit:15}")
+    private int writeMaxLimit;
+
+    @Value("${matchapp.admission.min-limit:4}")
+    private int minLimit;
+
+    @Value("${matchapp.admission.target-latency-ms:250}")
+    private long targetLatencyMs;
+
+    @Value("${matchapp.admission.latency-window:100}")
+    private int latencyWindow;
+
+    @Value("${matchapp.admission.latency-percentile:0.9}")
+    private double latencyPercentile;
+
+    @Value("${matchapp.admission.exempt-paths:}")
+    private List<String> exemptPaths;
+
+    @Value("${matchapp.pools.enabled:false}")
+    private boolean poolsEnabled;
+
+    @Value("${matchapp.pools.read.maximum-pool-size:25}")
+    private int readPoolSize;
+
+    @Value("${matchapp.pools.write.maximum-pool-size:15}")
+    private int writePoolSize;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private ClientBuckets buckets;
+
+    private ConcurrencyLimiter readLimiter;
+
+    private ConcurrencyLimiter writeLimiter;
+
+    private Counter rateLimited;
+
+    private Counter readShed;
+
+    private Counter writeShed;
+
+    @PostConstruct
+    public void init() {
+        buckets = new ClientBuckets(maxClients, ratePerSecond, burst);
+        long targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        // A request past the pool size would only wait for a connection, so the pools bound the limits.
+        int readLimit = poolsEnabled ? Math.min(readMaxLimit, readPoolSize) : readMaxLimit;
+        int writeLimit = poolsEnabled ? Math.min(writeMaxLimit, writePoolSize) : writeMaxLimit;
+        readLimiter = new ConcurrencyLimiter(readInitialLimit, minLimit, readLimit, targetLatencyNanos, latencyWindow, latencyPercentile);
+        writeLimiter = new ConcurrencyLimiter(writeInitialLimit, minLimit, writeLimit, targetLatencyNanos, latencyWindow, latencyPercentile);
+
+        rateLimited = Counter.builder("matchapp.admission.rejected").tag("reason", "rate_limit").tag("group", "all").register(meterRegistry);
+        readShed = Counter.builder("matchapp.admission.rejected").tag("reason", "concurrency").tag("group", "read").register(meterRegistry);
+        writeShed = Counter.builder("matchapp.admission.rejected").tag("reason", "concurrency").tag("group", "write").register(meterRegistry);
+
+        Gauge.builder("matchapp.admission.limit", readLimiter, ConcurrencyLimiter::getLimit).tag("group", "read").register(meterRegistry);
+        Gauge.builder("matchapp.admission.limit", writeLimiter, ConcurrencyLimiter::getLimit).tag("group", "write").register(meterRegistry);
+        Gauge.builder("matchapp.admission.in_flight", readLimiter, ConcurrencyLimiter::getInFlight).tag("group", "read").register(meterRegistry);
+        Gauge.builder("matchapp.admission.in_flight", writeLimiter, ConcurrencyLimiter::getInFlight).tag("group", "write").register(meterRegistry);
+        Gauge.builder("matchapp.admission.rate_per_second", () -> ratePerSecond).register(meterRegistry);
+        Gauge.builder("matchapp.admission.clients", buckets, ClientBuckets::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        String clientKey = clientKey(request);
+        TokenBucket bucket = clientKey == null ? null : buckets.get(clientKey, now);
+        if (bucket != null && !bucket.tryAcquire(now)) {
+            rateLimited.increment();
+            long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(bucket.retryAfterNanos(now)));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests.");
+            return;
+        }
+
+        if (isExempt(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        ConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            (read ? readShed : writeShed).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The bucket key, or null if the client is not authenticated and per-address limiting is off. Request headers are
+     * not used, since any client can set them to get a fresh bucket per request.
+     */
+    private String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        return perAddress ? "ip:" + request.getRemoteAddr() : null;
+    }
+
+    private boolean isExempt(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String pattern : exemptPaths) {
+            if (!pattern.isBlank() && pathMatcher.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), BaseResponse.<String>builder().status("error").message(message).build());
+    }
+
+}
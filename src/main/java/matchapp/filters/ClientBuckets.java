@@ -0,0 +1,69 @@
+package matchapp.filters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets by client, bounded to a maximum number of clients. The map is split into segments, each an
+ * access-ordered map behind its own lock, so a lookup costs one hash and a full segment drops its least recently seen
+ * client in constant time. A dropped client starts over with a full bucket, as an idle one would have.
+ */
+class ClientBuckets {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final double ratePerSecond;
+
+    private final int burst;
+
+    ClientBuckets(int maxClients, double ratePerSecond, int burst) {
+        int capacity = Math.max(1, (maxClients + SEGMENTS - 1) / SEGMENTS);
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            segments[segment] = new Segment(capacity);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+    }
+
+    TokenBucket get(String client, long nowNanos) {
+        int hash = client.hashCode();
+        Segment segment = segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+        synchronized (segment) {
+            TokenBucket bucket = segment.get(client);
+            if (bucket == null) {
+                bucket = new TokenBucket(ratePerSecond, burst, nowNanos);
+                segment.put(client, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private static class Segment extends LinkedHashMap<String, TokenBucket> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > capacity;
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package matchapp.filters;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase / multiplicative-decrease limit on in-flight requests. Latencies are collected in windows of a
+ * fixed number of requests; at the end of a window the limit shrinks if the window's latency percentile is over the
+ * target, and grows by one if it is under and the limiter was saturated during the window. A single slow request
+ * therefore only moves the limit if it is part of a slow window.
+ */
+public class ConcurrencyLimiter {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long targetLatencyNanos;
+
+    private final double percentile;
+
+    private final AtomicInteger limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final long[] window;
+
+    private int samples;
+
+    private int peakInFlight;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, int windowSize, double percentile) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.percentile = percentile;
+        this.limit = new AtomicInteger(Math.min(maxLimit, Math.max(minLimit, initialLimit)));
+        this.window = new long[Math.max(1, windowSize)];
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int saturation = inFlight.getAndDecrement();
+
+        long[] latencies;
+        int peak;
+        synchronized (window) {
+            window[samples++] = latencyNanos;
+            peakInFlight = Math.max(peakInFlight, saturation);
+            if (samples < window.length) {
+                return;
+            }
+            latencies = window.clone();
+            peak = peakInFlight;
+            samples = 0;
+            peakInFlight = 0;
+        }
+
+        Arrays.sort(latencies);
+        long observed = latencies[Math.max(0, (int) Math.ceil(percentile * latencies.length) - 1)];
+        if (observed > targetLatencyNanos) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * 0.9)));
+        } else if (peak * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
@@ -0,0 +1,44 @@
+package matchapp.filters;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm: instead of a token count the bucket keeps the
+ * theoretical arrival time of the next request and admits a request while that time is within the burst allowance.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * Math.max(0, burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = Math.max(current, nowNanos);
+            if (start - nowNanos > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    public long retryAfterNanos(long nowNanos) {
+        return Math.max(0L, theoreticalArrival.get() - toleranceNanos - nowNanos);
+    }
+
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+
+}
@@ -0,0 +1,18 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ArchiveResponse {
+
+    private Integer tournaments;
+
+    private Integer teams;
+
+    private Integer matches;
+
+    private Long bytes;
+
+}
@@ -0,0 +1,17 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class BatchResponse<T> {
+
+    private List<T> items;
+
+    private List<UUID> missing;
+
+}
@@ -0,0 +1,31 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class BracketNodeResponse {
+
+    private Integer index;
+
+    private String stage;
+
+    private Integer round;
+
+    private UUID home;
+
+    private UUID away;
+
+    private UUID match;
+
+    private LocalDateTime dateTime;
+
+    private UUID winner;
+
+    private Boolean decided;
+
+}
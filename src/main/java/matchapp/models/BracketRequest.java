@@ -0,0 +1,29 @@
+package matchapp.models;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class BracketRequest {
+
+    @NotNull
+    @Pattern(regexp = "single|double")
+    private String format;
+
+    private List<UUID> seeds;
+
+    @NotNull
+    private LocalDateTime startDateTime;
+
+    @Min(1)
+    private Integer roundIntervalHours;
+
+}
@@ -0,0 +1,23 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class BracketResponse {
+
+    private UUID id;
+
+    private UUID tournament;
+
+    private String format;
+
+    private Integer size;
+
+    private List<BracketNodeResponse> nodes;
+
+}
@@ -0,0 +1,20 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class EventLogStatsResponse {
+
+    private Boolean enabled;
+
+    private Integer segments;
+
+    private Long firstSequence;
+
+    private Long lastSequence;
+
+    private Long bytes;
+
+}
@@ -0,0 +1,28 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class HeadToHeadResponse {
+
+    private UUID team;
+
+    private UUID opponent;
+
+    private Integer played;
+
+    private Integer wins;
+
+    private Integer draws;
+
+    private Integer losses;
+
+    private Integer goalsFor;
+
+    private Integer goalsAgainst;
+
+}
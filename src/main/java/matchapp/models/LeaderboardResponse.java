@@ -0,0 +1,38 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class LeaderboardResponse {
+
+    private Integer rank;
+
+    private UUID team;
+
+    private UUID tournament;
+
+    private String name;
+
+    private Integer played;
+
+    private Integer wins;
+
+    private Integer draws;
+
+    private Integer losses;
+
+    private Integer goalsFor;
+
+    private Integer goalsAgainst;
+
+    private Integer goalDifference;
+
+    private Integer points;
+
+    private Double winRate;
+
+}
@@ -0,0 +1,23 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class MatchIngestionResponse {
+
+    private UUID id;
+
+    private String status;
+
+    private String message;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime completedAt;
+
+}
@@ -0,0 +1,24 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MatchIngestionStatsResponse {
+
+    private Integer depth;
+
+    private Integer capacity;
+
+    private Long lagMillis;
+
+    private Long accepted;
+
+    private Long rejected;
+
+    private Long created;
+
+    private Long failed;
+
+}
@@ -0,0 +1,20 @@
+package matchapp.models;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MatchResultRequest {
+
+    @NotNull
+    @Min(0)
+    private Integer homeScore;
+
+    @NotNull
+    @Min(0)
+    private Integer awayScore;
+
+}
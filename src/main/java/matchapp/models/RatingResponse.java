@@ -0,0 +1,24 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class RatingResponse {
+
+    private Integer rank;
+
+    private UUID team;
+
+    private UUID tournament;
+
+    private String name;
+
+    private Double rating;
+
+    private Integer played;
+
+}
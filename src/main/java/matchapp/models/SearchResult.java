@@ -0,0 +1,22 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SearchResult {
+
+    private String type;
+
+    private UUID id;
+
+    private UUID tournament;
+
+    private String name;
+
+    private String location;
+
+}
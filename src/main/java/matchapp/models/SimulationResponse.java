@@ -0,0 +1,21 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SimulationResponse {
+
+    private UUID tournament;
+
+    private Integer runs;
+
+    private Integer remainingMatches;
+
+    private List<SimulationStanding> standings;
+
+}
@@ -0,0 +1,23 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SimulationStanding {
+
+    private UUID team;
+
+    private String name;
+
+    private Integer points;
+
+    private Double expectedPoints;
+
+    private List<Double> positions;
+
+}
@@ -0,0 +1,18 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class SnapshotResponse {
+
+    private Long createdAt;
+
+    private Long bytes;
+
+    private List<String> sections;
+
+}
@@ -0,0 +1,20 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SwissPairing {
+
+    private UUID home;
+
+    private UUID away;
+
+    private UUID match;
+
+    private Boolean rematch;
+
+}
@@ -0,0 +1,16 @@
+package matchapp.models;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class SwissRoundRequest {
+
+    @NotNull
+    private LocalDateTime dateTime;
+
+}
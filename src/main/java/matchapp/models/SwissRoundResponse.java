@@ -0,0 +1,19 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SwissRoundResponse {
+
+    private Integer round;
+
+    private List<SwissPairing> pairings;
+
+    private UUID bye;
+
+}
@@ -0,0 +1,17 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+import matchapp.entities.Team;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class TeamPageResponse {
+
+    private List<Team> teams;
+
+    private String next;
+
+}
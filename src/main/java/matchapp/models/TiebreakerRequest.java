@@ -0,0 +1,17 @@
+package matchapp.models;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class TiebreakerRequest {
+
+    @NotEmpty
+    private List<UUID> teams;
+
+}
@@ -0,0 +1,22 @@
+package matchapp.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class TiebreakerStanding {
+
+    private UUID team;
+
+    private Integer rank;
+
+    private Integer points;
+
+    private Integer goalDifference;
+
+    private Integer goalsFor;
+
+}
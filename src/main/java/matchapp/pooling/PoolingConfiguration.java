@@ -0,0 +1,40 @@
+package matchapp.pooling;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits the single database's connections into read, write and bulk pools. With sharding enabled every shard gets
+ * its own three pools instead; see ShardingConfiguration.
+ */
+@Configuration
+@EnableConfigurationProperties(PoolingProperties.class)
+@ConditionalOnExpression("${matchapp.pools.enabled:false} && !${matchapp.sharding.enabled:false}")
+public class PoolingConfiguration {
+
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                               PoolingProperties properties,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return WorkloadRoutingDataSource.create("matchapp",
+                () -> dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build(),
+                properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+    }
+
+}
@@ -0,0 +1,46 @@
+package matchapp.pooling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("matchapp.pools")
+public class PoolingProperties {
+
+    private boolean enabled;
+
+    private Pool read = new Pool(25, 5, Duration.ofSeconds(2));
+
+    private Pool write = new Pool(15, 3, Duration.ofSeconds(5));
+
+    private Pool bulk = new Pool(5, 0, Duration.ofSeconds(30));
+
+    public Pool of(Workload workload) {
+        return switch (workload) {
+            case READ -> read;
+            case WRITE -> write;
+            case BULK -> bulk;
+        };
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        private int maximumPoolSize;
+
+        private int minimumIdle;
+
+        private Duration connectionTimeout;
+
+    }
+
+}
@@ -0,0 +1,14 @@
+package matchapp.pooling;
+
+/**
+ * The traffic classes that get a connection pool of their own.
+ */
+public enum Workload {
+
+    READ,
+
+    WRITE,
+
+    BULK
+
+}
@@ -0,0 +1,52 @@
+package matchapp.pooling;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * The workload the current thread's next database connection is taken for: bulk inside {@link #bulk}, otherwise read
+ * for read-only transactions and write for everything else.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> OVERRIDE = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload override = OVERRIDE.get();
+        if (override != null) {
+            return override;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Workload.READ : Workload.WRITE;
+    }
+
+    public static Workload override() {
+        return OVERRIDE.get();
+    }
+
+    public static <T> T bulk(Supplier<T> work) {
+        return as(Workload.BULK, work);
+    }
+
+    public static <T> T as(Workload workload, Supplier<T> work) {
+        Workload previous = OVERRIDE.get();
+        set(workload);
+        try {
+            return work.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    private static void set(Workload workload) {
+        if (workload == null) {
+            OVERRIDE.remove();
+        } else {
+            OVERRIDE.set(workload);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package matchapp.pooling;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * One connection pool per {@link Workload} against the same database, so a flood of one kind of work can exhaust only
+ * its own pool. Must sit behind a lazy connection proxy: the workload is read when the first statement runs, after the
+ * transaction has been marked read-only or not.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<HikariDataSource> pools;
+
+    private WorkloadRoutingDataSource(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    /**
+     * Builds the pools from a factory of unconfigured pools that already carry the connection settings. Pools are named
+     * after the prefix and workload, for example "matchapp-read", which is the pool tag of their metrics.
+     */
+    public static WorkloadRoutingDataSource create(String prefix, Supplier<HikariDataSource> connections,
+                                                   PoolingProperties properties, MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        for (Workload workload : Workload.values()) {
+            PoolingProperties.Pool settings = properties.of(workload);
+            HikariDataSource pool = connections.get();
+            pool.setPoolName(prefix + "-" + workload.name().toLowerCase(Locale.ROOT));
+            pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+            pool.setMinimumIdle(Math.min(settings.getMinimumIdle(), settings.getMaximumPoolSize()));
+            pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+            if (meterRegistry != null) {
+                pool.setMetricRegistry(meterRegistry);
+            }
+            targets.put(workload, pool);
+            pools.add(pool);
+        }
+
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(pools);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(Workload.WRITE));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+}
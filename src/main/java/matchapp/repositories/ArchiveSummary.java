@@ -0,0 +1,11 @@
+package matchapp.repositories;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An archived tournament without its matches, for lookups that show the tournament and its teams.
+ */
+public record ArchiveSummary(UUID id, String name, String location, LocalDate startDate, LocalDate endDate, Boolean isFull,
+                             byte[] teams) {
+}
@@ -0,0 +1,26 @@
+package matchapp.repositories;
+
+import matchapp.entities.ArchivedTournament;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArchivedTournamentRepository extends JpaRepository<ArchivedTournament, UUID> {
+
+    @Query("select new matchapp.repositories.ArchiveSummary(a.id, a.name, a.location, a.startDate, a.endDate, a.isFull, a.teams) " +
+            "from ArchivedTournament a where a.id = :id")
+    Optional<ArchiveSummary> findSummaryById(@Param("id") UUID id);
+
+    /**
+     * First page of archives in id order; {@link #findByIdGreaterThanOrderByIdAsc} continues after the last id.
+     */
+    List<ArchivedTournament> findAllByOrderByIdAsc(Pageable pageable);
+
+    List<ArchivedTournament> findByIdGreaterThanOrderByIdAsc(UUID after, Pageable pageable);
+
+}
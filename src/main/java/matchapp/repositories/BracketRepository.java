@@ -0,0 +1,32 @@
+package matchapp.repositories;
+
+import jakarta.persistence.LockModeType;
+import matchapp.entities.KnockoutBracket;
+import matchapp.entities.Tournament;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BracketRepository extends JpaRepository<KnockoutBracket, UUID> {
+
+    List<KnockoutBracket> findByTournament(Tournament tournament);
+
+    /**
+     * Loads the bracket and locks its row until the transaction ends, so results of one bracket advance it one at a
+     * time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from KnockoutBracket b where b.id = :id")
+    Optional<KnockoutBracket> findForUpdateById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("delete from KnockoutBracket b where b.tournament = :tournament")
+    int deleteByTournament(@Param("tournament") Tournament tournament);
+
+}
@@ -0,0 +1,12 @@
+package matchapp.repositories;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One match as a calendar feed shows it, read as plain values so that streaming a feed does not fill the persistence
+ * context with matches, teams and tournaments.
+ */
+public record CalendarEntry(UUID id, LocalDateTime dateTime, String home, String away, Integer homeScore, Integer awayScore,
+                            String tournament, String location) {
+}
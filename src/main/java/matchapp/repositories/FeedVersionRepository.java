@@ -0,0 +1,31 @@
+package matchapp.repositories;
+
+import matchapp.entities.FeedVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface FeedVersionRepository extends JpaRepository<FeedVersion, UUID> {
+
+    @Modifying
+    @Query("update FeedVersion v set v.version = v.version + 1 where v.id = :id")
+    int increment(@Param("id") UUID id);
+
+    @Query("select coalesce(sum(v.version), 0) from FeedVersion v")
+    long sumVersions();
+
+    /**
+     * The feed version of an existing tournament, zero if it has never been bumped.
+     */
+    @Query("select coalesce(v.version, 0) from Tournament t left join FeedVersion v on v.id = t.id where t.id = :tournament")
+    Optional<Long> findByTournament(@Param("tournament") UUID tournament);
+
+    @Query("select new matchapp.repositories.TeamFeedVersion(t.tournament.id, coalesce(v.version, 0)) " +
+            "from Team t left join FeedVersion v on v.id = t.tournament.id where t.id = :team")
+    Optional<TeamFeedVersion> findByTeam(@Param("team") UUID team);
+
+}
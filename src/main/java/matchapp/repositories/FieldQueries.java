@@ -0,0 +1,48 @@
+package matchapp.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.*;
+
+/**
+ * Tuple queries that select only the named attributes, so a sparse fieldset is trimmed in the SQL select list rather
+ * than after loading whole entities. Callers whitelist the attribute names.
+ */
+final class FieldQueries {
+
+    private FieldQueries() {
+    }
+
+    static <T> List<Map<String, Object>> select(EntityManager entityManager, Class<T> type, Collection<String> fields,
+                                                String path, Object value) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(type);
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+        if (path != null) {
+            Path<?> attribute = root;
+            for (String name : path.split("\\.")) {
+                attribute = attribute.get(name);
+            }
+            query.where(builder.equal(attribute, value));
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+}
@@ -0,0 +1,22 @@
+package matchapp.repositories;
+
+import jakarta.persistence.LockModeType;
+import matchapp.entities.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface JobLockRepository extends JpaRepository<JobLock, UUID> {
+
+    /**
+     * Loads the lock and locks its row until the transaction ends, so instances take the lease one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from JobLock l where l.id = :id")
+    Optional<JobLock> findForUpdateById(@Param("id") UUID id);
+
+}
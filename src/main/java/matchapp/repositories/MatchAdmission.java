@@ -0,0 +1,11 @@
+package matchapp.repositories;
+
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+
+/**
+ * What match creation checks before inserting, read in one statement: the tournament, each team or null if it does
+ * not exist, and whether a match between the two teams already exists in either direction.
+ */
+public record MatchAdmission(Tournament tournament, Team home, Team away, boolean homeAwayExists, boolean awayHomeExists) {
+}
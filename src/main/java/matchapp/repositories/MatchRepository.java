@@ -1,14 +1,93 @@
 package matchapp.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import matchapp.entities.Match;
 import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface MatchRepository extends JpaRepository<Match, UUID> {
 
     Boolean existsByHomeAndAway(Team home, Team away);
 
-}
\ No newline at end of file
+    List<Match> findByTournament(Tournament tournament);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select m from Match m where m.tournament = :tournament")
+    List<Match> findLockedByTournament(@Param("tournament") Tournament tournament);
+
+    /**
+     * Loads the match and locks its row until the transaction ends, so one result is recorded at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Match m where m.id = :id")
+    Optional<Match> findForUpdateById(@Param("id") UUID id);
+
+    @Query("select new matchapp.repositories.MatchAdmission(t, h, a, " +
+            "case when exists (select 1 from Match m where m.home.id = :home and m.away.id = :away) then true else false end, " +
+            "case when exists (select 1 from Match m where m.home.id = :away and m.away.id = :home) then true else false end) " +
+            "from Tournament t left join Team h on h.id = :home left join Team a on a.id = :away " +
+            "where t.id = :tournament")
+    Optional<MatchAdmission> findAdmission(@Param("tournament") UUID tournament, @Param("home") UUID home, @Param("away") UUID away);
+
+    List<Match> findByTournamentAndHomeScoreNotNullAndAwayScoreNotNull(Tournament tournament);
+
+    List<Match> findByHomeScoreNotNullAndAwayScoreNotNullOrderByDateTime();
+
+    long countByHomeScoreNotNullAndAwayScoreNotNull();
+
+    @Query("select m.id from Match m where m.tournament = :tournament")
+    List<UUID> findIdsByTournament(@Param("tournament") Tournament tournament, Pageable pageable);
+
+    @Query("select m.home.id, m.away.id, m.homeScore, m.awayScore, m.dateTime from Match m where m.tournament = :tournament")
+    List<Object[]> findResultsByTournament(@Param("tournament") Tournament tournament);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new matchapp.repositories.CalendarEntry(m.id, m.dateTime, h.name, a.name, m.homeScore, m.awayScore, t.name, t.location) " +
+            "from Match m join m.home h join m.away a join m.tournament t where t.id = :tournament order by m.dateTime, m.id")
+    Stream<CalendarEntry> streamCalendarByTournament(@Param("tournament") UUID tournament);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new matchapp.repositories.CalendarEntry(m.id, m.dateTime, h.name, a.name, m.homeScore, m.awayScore, t.name, t.location) " +
+            "from Match m join m.home h join m.away a join m.tournament t where h.id = :team or a.id = :team order by m.dateTime, m.id")
+    Stream<CalendarEntry> streamCalendarByTeam(@Param("team") UUID team);
+
+    @Query("select m.dateTime from Match m where m.home = :team or m.away = :team")
+    List<LocalDateTime> findDateTimesByTeam(@Param("team") Team team);
+
+    @Query("select m from Match m where m.dateTime >= :from and m.dateTime < :to order by m.dateTime, m.id")
+    List<Match> findCalendar(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select m from Match m where m.tournament.id = :tournament and m.dateTime >= :from and m.dateTime < :to " +
+            "order by m.dateTime, m.id")
+    List<Match> findCalendarByTournament(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                         @Param("tournament") UUID tournament);
+
+    /**
+     * A team's home matches; with {@link #findCalendarByAway} each side is one range over its own index, where an or of
+     * the two would not use either.
+     */
+    @Query("select m from Match m where m.home.id = :team and m.dateTime >= :from and m.dateTime < :to " +
+            "order by m.dateTime, m.id")
+    List<Match> findCalendarByHome(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                   @Param("team") UUID team);
+
+    @Query("select m from Match m where m.away.id = :team and m.dateTime >= :from and m.dateTime < :to " +
+            "order by m.dateTime, m.id")
+    List<Match> findCalendarByAway(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                   @Param("team") UUID team);
+
+}
@@ -0,0 +1,9 @@
+package matchapp.repositories;
+
+import java.util.UUID;
+
+/**
+ * A team's tournament and the version of that tournament's calendar feeds.
+ */
+public record TeamFeedVersion(UUID tournament, Long version) {
+}
@@ -2,16 +2,32 @@ package matchapp.repositories;
 
 import matchapp.entities.Team;
 import matchapp.entities.Tournament;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface TeamRepository extends JpaRepository<Team, UUID> {
+public interface TeamRepository extends JpaRepository<Team, UUID>, TeamRepositoryCustom {
 
     List<Team> findByTournament(Tournament tournament);
 
+    @Query("select t from Team t join fetch t.tournament where t.id in :ids")
+    List<Team> findAllWithTournamentById(@Param("ids") Collection<UUID> ids);
+
+    @Query("select t from Team t where t.tournament = :tournament and t.name like :pattern escape '!' " +
+            "and (:afterName is null or t.name > :afterName or (t.name = :afterName and t.id > :afterId)) " +
+            "order by t.name, t.id")
+    List<Team> findPage(@Param("tournament") Tournament tournament, @Param("pattern") String pattern,
+                        @Param("afterName") String afterName, @Param("afterId") UUID afterId, Pageable pageable);
+
+    @Query("select t.id from Team t where t.tournament = :tournament")
+    List<UUID> findIdsByTournament(@Param("tournament") Tournament tournament, Pageable pageable);
+
     Boolean existsByTournamentAndName(Tournament tournament, String name);
 
     Optional<Team> findByTournamentAndName(Tournament tournament, String name);
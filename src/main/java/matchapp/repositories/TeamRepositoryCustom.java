@@ -0,0 +1,13 @@
+package matchapp.repositories;
+
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface TeamRepositoryCustom {
+
+    List<Map<String, Object>> findFieldsByTournamentId(UUID tournament, Collection<String> fields);
+
+}
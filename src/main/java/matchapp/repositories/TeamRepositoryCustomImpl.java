@@ -0,0 +1,22 @@
+package matchapp.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import matchapp.entities.Team;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class TeamRepositoryCustomImpl implements TeamRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByTournamentId(UUID tournament, Collection<String> fields) {
+        return FieldQueries.select(entityManager, Team.class, fields, "tournament.id", tournament);
+    }
+
+}
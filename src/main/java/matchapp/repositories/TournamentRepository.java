@@ -1,9 +1,27 @@
 package matchapp.repositories;
 
+import jakarta.persistence.LockModeType;
 import matchapp.entities.Tournament;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface TournamentRepository extends JpaRepository<Tournament, UUID> {
+public interface TournamentRepository extends JpaRepository<Tournament, UUID>, TournamentRepositoryCustom {
+
+    List<Tournament> findByEndDateBefore(LocalDate date);
+
+    /**
+     * Loads the tournament and locks its row until the transaction ends. Team and match inserts check their foreign key
+     * against that row, so they wait for the lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Tournament t where t.id = :id")
+    Optional<Tournament> findForUpdateById(@Param("id") UUID id);
+
 }
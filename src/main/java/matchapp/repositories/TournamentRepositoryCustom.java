@@ -0,0 +1,15 @@
+package matchapp.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TournamentRepositoryCustom {
+
+    List<Map<String, Object>> findAllFields(Collection<String> fields);
+
+    Optional<Map<String, Object>> findFieldsById(UUID id, Collection<String> fields);
+
+}
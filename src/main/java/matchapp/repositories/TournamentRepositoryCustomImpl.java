@@ -0,0 +1,28 @@
+package matchapp.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import matchapp.entities.Tournament;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class TournamentRepositoryCustomImpl implements TournamentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Collection<String> fields) {
+        return FieldQueries.select(entityManager, Tournament.class, fields, null, null);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(UUID id, Collection<String> fields) {
+        return FieldQueries.select(entityManager, Tournament.class, fields, "id", id).stream().findFirst();
+    }
+
+}
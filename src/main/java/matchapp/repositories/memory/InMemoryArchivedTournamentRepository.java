@@ -0,0 +1,55 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.ArchivedTournament;
+import matchapp.repositories.ArchiveSummary;
+import matchapp.repositories.ArchivedTournamentRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+@Repository
+@Profile("memory")
+public class InMemoryArchivedTournamentRepository extends InMemoryRepository<ArchivedTournament> implements ArchivedTournamentRepository {
+
+    @Override
+    protected UUID idOf(ArchivedTournament archive) {
+        return archive.getId();
+    }
+
+    @Override
+    protected void assignId(ArchivedTournament archive, UUID id) {
+        archive.setId(id);
+    }
+
+    @Override
+    protected ArchivedTournament copy(ArchivedTournament archive) {
+        return new ArchivedTournament(archive.getId(), archive.getName(), archive.getLocation(), archive.getStartDate(),
+                archive.getEndDate(), archive.getIsFull(), archive.getArchivedAt(), archive.getTeams().clone(), archive.getMatches().clone());
+    }
+
+    @Override
+    public Optional<ArchiveSummary> findSummaryById(UUID id) {
+        return Optional.ofNullable(rows.get(id)).map(archive -> new ArchiveSummary(archive.getId(), archive.getName(),
+                archive.getLocation(), archive.getStartDate(), archive.getEndDate(), archive.getIsFull(), archive.getTeams().clone()));
+    }
+
+    @Override
+    public List<ArchivedTournament> findAllByOrderByIdAsc(Pageable pageable) {
+        return page(id -> true, pageable);
+    }
+
+    @Override
+    public List<ArchivedTournament> findByIdGreaterThanOrderByIdAsc(UUID after, Pageable pageable) {
+        return page(id -> id.compareTo(after) > 0, pageable);
+    }
+
+    private List<ArchivedTournament> page(Predicate<UUID> filter, Pageable pageable) {
+        return load(rows.keySet().stream().filter(filter).sorted().limit(pageable.getPageSize()).toList());
+    }
+
+}
@@ -0,0 +1,65 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.KnockoutBracket;
+import matchapp.entities.Tournament;
+import matchapp.repositories.BracketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("memory")
+public class InMemoryBracketRepository extends InMemoryRepository<KnockoutBracket> implements BracketRepository {
+
+    @Autowired
+    private InMemoryTournamentRepository tournaments;
+
+    private final Map<UUID, Set<UUID>> byTournament = new ConcurrentHashMap<>();
+
+    @Override
+    protected UUID idOf(KnockoutBracket bracket) {
+        return bracket.getId();
+    }
+
+    @Override
+    protected void assignId(KnockoutBracket bracket, UUID id) {
+        bracket.setId(id);
+    }
+
+    @Override
+    protected KnockoutBracket copy(KnockoutBracket bracket) {
+        return new KnockoutBracket(bracket.getId(), tournaments.current(bracket.getTournament()), bracket.getFormat(),
+                List.copyOf(bracket.getSeeds()), bracket.getStartDateTime(), bracket.getRoundIntervalHours(), bracket.getRevision());
+    }
+
+    @Override
+    protected void index(KnockoutBracket bracket) {
+        link(byTournament, bracket.getTournament().getId(), bracket.getId());
+    }
+
+    @Override
+    protected void unindex(KnockoutBracket bracket) {
+        unlink(byTournament, bracket.getTournament().getId(), bracket.getId());
+    }
+
+    @Override
+    public List<KnockoutBracket> findByTournament(Tournament tournament) {
+        return load(indexed(byTournament, tournament.getId()));
+    }
+
+    @Override
+    public Optional<KnockoutBracket> findForUpdateById(UUID id) {
+        return findForUpdate(id);
+    }
+
+    @Override
+    public int deleteByTournament(Tournament tournament) {
+        List<UUID> ids = List.copyOf(indexed(byTournament, tournament.getId()));
+        deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+}
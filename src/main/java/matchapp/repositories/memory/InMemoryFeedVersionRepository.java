@@ -0,0 +1,68 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.FeedVersion;
+import matchapp.repositories.FeedVersionRepository;
+import matchapp.repositories.TeamFeedVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Profile("memory")
+public class InMemoryFeedVersionRepository extends InMemoryRepository<FeedVersion> implements FeedVersionRepository {
+
+    @Autowired
+    private InMemoryTournamentRepository tournaments;
+
+    @Autowired
+    private InMemoryTeamRepository teams;
+
+    @Override
+    protected UUID idOf(FeedVersion version) {
+        return version.getId();
+    }
+
+    @Override
+    protected void assignId(FeedVersion version, UUID id) {
+        version.setId(id);
+    }
+
+    @Override
+    protected FeedVersion copy(FeedVersion version) {
+        return new FeedVersion(version.getId(), version.getVersion());
+    }
+
+    @Override
+    public int increment(UUID id) {
+        return findForUpdate(id).map(version -> {
+            version.setVersion(version.getVersion() + 1);
+            save(version);
+            return 1;
+        }).orElse(0);
+    }
+
+    @Override
+    public long sumVersions() {
+        return rows.values().stream().mapToLong(FeedVersion::getVersion).sum();
+    }
+
+    @Override
+    public Optional<Long> findByTournament(UUID tournament) {
+        return tournaments.existsById(tournament) ? Optional.of(versionOf(tournament)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<TeamFeedVersion> findByTeam(UUID team) {
+        return teams.findById(team).map(found -> found.getTournament().getId())
+                .map(tournament -> new TeamFeedVersion(tournament, versionOf(tournament)));
+    }
+
+    private long versionOf(UUID tournament) {
+        FeedVersion version = rows.get(tournament);
+        return version == null ? 0L : version.getVersion();
+    }
+
+}
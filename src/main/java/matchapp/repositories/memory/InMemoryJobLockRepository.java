@@ -0,0 +1,35 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.JobLock;
+import matchapp.repositories.JobLockRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Profile("memory")
+public class InMemoryJobLockRepository extends InMemoryRepository<JobLock> implements JobLockRepository {
+
+    @Override
+    protected UUID idOf(JobLock lock) {
+        return lock.getId();
+    }
+
+    @Override
+    protected void assignId(JobLock lock, UUID id) {
+        lock.setId(id);
+    }
+
+    @Override
+    protected JobLock copy(JobLock lock) {
+        return new JobLock(lock.getId(), lock.getName(), lock.getOwner(), lock.getLockedUntil());
+    }
+
+    @Override
+    public Optional<JobLock> findForUpdateById(UUID id) {
+        return findForUpdate(id);
+    }
+
+}
@@ -0,0 +1,225 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.repositories.CalendarEntry;
+import matchapp.repositories.MatchAdmission;
+import matchapp.repositories.MatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("memory")
+public class InMemoryMatchRepository extends InMemoryRepository<Match> implements MatchRepository {
+
+    private static final Comparator<Match> BY_DATE_TIME = Comparator.comparing(Match::getDateTime).thenComparing(Match::getId);
+
+    private static final UUID LOWEST = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    @Autowired
+    private InMemoryTournamentRepository tournaments;
+
+    @Autowired
+    private InMemoryTeamRepository teams;
+
+    private final Map<UUID, Set<UUID>> byTournament = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Set<UUID>> byTeam = new ConcurrentHashMap<>();
+
+    private final Map<Pair, Set<UUID>> byPair = new ConcurrentHashMap<>();
+
+    private final NavigableSet<Match> byDateTime = new ConcurrentSkipListSet<>(BY_DATE_TIME);
+
+    private final AtomicLong scored = new AtomicLong();
+
+    @Override
+    protected UUID idOf(Match match) {
+        return match.getId();
+    }
+
+    @Override
+    protected void assignId(Match match, UUID id) {
+        match.setId(id);
+    }
+
+    @Override
+    protected Match copy(Match match) {
+        return new Match(match.getId(), tournaments.current(match.getTournament()), match.getDateTime(),
+                teams.current(match.getHome()), teams.current(match.getAway()), match.getHomeScore(), match.getAwayScore());
+    }
+
+    @Override
+    protected void index(Match match) {
+        link(byTournament, match.getTournament().getId(), match.getId());
+        link(byTeam, match.getHome().getId(), match.getId());
+        link(byTeam, match.getAway().getId(), match.getId());
+        link(byPair, new Pair(match.getHome().getId(), match.getAway().getId()), match.getId());
+        byDateTime.add(match);
+        if (isScored(match)) {
+            scored.incrementAndGet();
+        }
+    }
+
+    @Override
+    protected void unindex(Match match) {
+        unlink(byTournament, match.getTournament().getId(), match.getId());
+        unlink(byTeam, match.getHome().getId(), match.getId());
+        unlink(byTeam, match.getAway().getId(), match.getId());
+        unlink(byPair, new Pair(match.getHome().getId(), match.getAway().getId()), match.getId());
+        byDateTime.remove(match);
+        if (isScored(match)) {
+            scored.decrementAndGet();
+        }
+    }
+
+    @Override
+    public Boolean existsByHomeAndAway(Team home, Team away) {
+        return !indexed(byPair, new Pair(home.getId(), away.getId())).isEmpty();
+    }
+
+    @Override
+    public Optional<MatchAdmission> findAdmission(UUID tournament, UUID home, UUID away) {
+        return tournaments.findById(tournament).map(found -> new MatchAdmission(found,
+                teams.findById(home).orElse(null), teams.findById(away).orElse(null),
+                !indexed(byPair, new Pair(home, away)).isEmpty(), !indexed(byPair, new Pair(away, home)).isEmpty()));
+    }
+
+    @Override
+    public List<Match> findByTournament(Tournament tournament) {
+        return load(indexed(byTournament, tournament.getId()));
+    }
+
+    @Override
+    public List<Match> findLockedByTournament(Tournament tournament) {
+        return findByTournament(tournament);
+    }
+
+    @Override
+    public Optional<Match> findForUpdateById(UUID id) {
+        return findForUpdate(id);
+    }
+
+    @Override
+    public List<Match> findByTournamentAndHomeScoreNotNullAndAwayScoreNotNull(Tournament tournament) {
+        return findByTournament(tournament).stream().filter(this::isScored).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Match> findByHomeScoreNotNullAndAwayScoreNotNullOrderByDateTime() {
+        return byDateTime.stream().filter(this::isScored).map(this::copy).collect(Collectors.toList());
+    }
+
+    @Override
+    public long countByHomeScoreNotNullAndAwayScoreNotNull() {
+        return scored.get();
+    }
+
+    @Override
+    public List<UUID> findIdsByTournament(Tournament tournament, Pageable pageable) {
+        return page(indexed(byTournament, tournament.getId()), pageable);
+    }
+
+    @Override
+    public List<Object[]> findResultsByTournament(Tournament tournament) {
+        List<Object[]> results = new ArrayList<>();
+        for (UUID id : indexed(byTournament, tournament.getId())) {
+            Match match = rows.get(id);
+            if (match != null) {
+                results.add(new Object[]{match.getHome().getId(), match.getAway().getId(),
+                        match.getHomeScore(), match.getAwayScore(), match.getDateTime()});
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Stream<CalendarEntry> streamCalendarByTournament(UUID tournament) {
+        return calendar(indexed(byTournament, tournament));
+    }
+
+    @Override
+    public Stream<CalendarEntry> streamCalendarByTeam(UUID team) {
+        return calendar(indexed(byTeam, team));
+    }
+
+    @Override
+    public List<LocalDateTime> findDateTimesByTeam(Team team) {
+        List<LocalDateTime> dateTimes = new ArrayList<>();
+        for (UUID id : indexed(byTeam, team.getId())) {
+            Match match = rows.get(id);
+            if (match != null) {
+                dateTimes.add(match.getDateTime());
+            }
+        }
+        return dateTimes;
+    }
+
+    @Override
+    public List<Match> findCalendar(LocalDateTime from, LocalDateTime to) {
+        Match lower = new Match();
+        lower.setDateTime(from);
+        lower.setId(LOWEST);
+        Match upper = new Match();
+        upper.setDateTime(to);
+        upper.setId(LOWEST);
+
+        return byDateTime.subSet(lower, true, upper, false).stream()
+                .map(this::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Match> findCalendarByTournament(LocalDateTime from, LocalDateTime to, UUID tournament) {
+        return between(indexed(byTournament, tournament), from, to, match -> true);
+    }
+
+    @Override
+    public List<Match> findCalendarByHome(LocalDateTime from, LocalDateTime to, UUID team) {
+        return between(indexed(byTeam, team), from, to, match -> match.getHome().getId().equals(team));
+    }
+
+    @Override
+    public List<Match> findCalendarByAway(LocalDateTime from, LocalDateTime to, UUID team) {
+        return between(indexed(byTeam, team), from, to, match -> match.getAway().getId().equals(team));
+    }
+
+    private List<Match> between(Set<UUID> ids, LocalDateTime from, LocalDateTime to, Predicate<Match> filter) {
+        List<Match> matches = new ArrayList<>();
+        for (UUID id : ids) {
+            Match match = rows.get(id);
+            if (match != null && !match.getDateTime().isBefore(from) && match.getDateTime().isBefore(to) && filter.test(match)) {
+                matches.add(copy(match));
+            }
+        }
+        matches.sort(BY_DATE_TIME);
+        return matches;
+    }
+
+    private Stream<CalendarEntry> calendar(Set<UUID> ids) {
+        return load(ids).stream()
+                .sorted(BY_DATE_TIME)
+                .map(match -> new CalendarEntry(match.getId(), match.getDateTime(),
+                        match.getHome().getName(), match.getAway().getName(), match.getHomeScore(), match.getAwayScore(),
+                        match.getTournament().getName(), match.getTournament().getLocation()));
+    }
+
+    private boolean isScored(Match match) {
+        return match.getHomeScore() != null && match.getAwayScore() != null;
+    }
+
+    private record Pair(UUID home, UUID away) {
+    }
+
+}
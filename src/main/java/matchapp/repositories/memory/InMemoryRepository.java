@@ -0,0 +1,452 @@
+package matchapp.repositories.memory;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.beans.PropertyDescriptor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Base of the in-memory storage engine. Rows are immutable copies held in a concurrent map by id; reads return fresh
+ * copies with their references resolved to the current rows, the way a JPA load would. Writes are serialized per
+ * repository, keep the subclass's secondary indexes in step, and are undone if the surrounding transaction rolls back.
+ * <p>
+ * The isolation level is read uncommitted: a write is visible to other threads as soon as it is made, before its
+ * transaction commits. Rolling back restores a row only while it still holds the rolled-back transaction's write; if
+ * another transaction has written the row since, that later write stands. Only {@link #findForUpdate} excludes other
+ * transactions, and only other locking reads of the same id.
+ */
+public abstract class InMemoryRepository<T> implements JpaRepository<T, UUID> {
+
+    protected final Map<UUID, T> rows = new ConcurrentHashMap<>();
+
+    private final Map<UUID, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    protected abstract UUID idOf(T entity);
+
+    protected abstract void assignId(T entity, UUID id);
+
+    protected abstract T copy(T entity);
+
+    protected void index(T row) {
+    }
+
+    protected void unindex(T row) {
+    }
+
+    T current(T reference) {
+        if (reference == null) {
+            return null;
+        }
+        T row = rows.get(idOf(reference));
+        return copy(row != null ? row : reference);
+    }
+
+    /**
+     * Stands in for a row lock: the id's lock is held until the surrounding transaction completes. It only excludes
+     * other locking reads, not plain writes.
+     */
+    protected Optional<T> findForUpdate(UUID id) {
+        ReentrantLock lock = locks.computeIfAbsent(id, ignored -> new ReentrantLock());
+        lock.lock();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        } else {
+            lock.unlock();
+        }
+        return findById(id);
+    }
+
+    protected List<T> load(Collection<UUID> ids) {
+        List<T> loaded = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            T row = rows.get(id);
+            if (row != null) {
+                loaded.add(copy(row));
+            }
+        }
+        return loaded;
+    }
+
+    protected Map<String, Object> fieldsOf(T row, Collection<String> fields) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(row);
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            selected.put(field, wrapper.getPropertyValue(field));
+        }
+        return selected;
+    }
+
+    protected static <K> Set<UUID> indexed(Map<K, Set<UUID>> index, K key) {
+        Set<UUID> ids = index.get(key);
+        return ids == null ? Set.of() : ids;
+    }
+
+    protected static <K> void link(Map<K, Set<UUID>> index, K key, UUID id) {
+        index.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    protected static <K> void unlink(Map<K, Set<UUID>> index, K key, UUID id) {
+        index.computeIfPresent(key, (ignored, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    protected static <K> List<UUID> page(Set<UUID> ids, Pageable pageable) {
+        Stream<UUID> stream = ids.stream();
+        if (pageable.isPaged()) {
+            stream = stream.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return stream.toList();
+    }
+
+    private void write(UUID id, T row) {
+        T previous;
+        synchronized (this) {
+            previous = replace(id, row);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            undoLog().changes.push(() -> {
+                if (rows.get(id) == row) {
+                    replace(id, previous);
+                }
+            });
+        }
+    }
+
+    private UndoLog undoLog() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof UndoLog undoLog && undoLog.repository == this) {
+                return undoLog;
+            }
+        }
+        UndoLog undoLog = new UndoLog(this);
+        TransactionSynchronizationManager.registerSynchronization(undoLog);
+        return undoLog;
+    }
+
+    private T replace(UUID id, T row) {
+        T previous = row == null ? rows.remove(id) : rows.put(id, row);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (row != null) {
+            index(row);
+        }
+        return previous;
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        UUID id = idOf(entity);
+        if (id == null) {
+            id = UUID.randomUUID();
+            assignId(entity, id);
+        }
+        write(id, copy(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(UUID id) {
+        T row = rows.get(id);
+        return row == null ? Optional.empty() : Optional.of(copy(row));
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return rows.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return new ArrayList<>(load(rows.keySet()));
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<UUID> ids) {
+        List<UUID> list = new ArrayList<>();
+        ids.forEach(list::add);
+        return new ArrayList<>(load(list));
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        if (rows.containsKey(id)) {
+            write(id, null);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteAllById(new ArrayList<>(rows.keySet()));
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        List<T> all = findAll();
+        all.sort(comparator(sort));
+        return all;
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return toPage(findAll(pageable.getSort()), pageable);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    @Deprecated
+    public void deleteInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<UUID> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public T getOne(UUID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public T getById(UUID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public T getReferenceById(UUID id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("No row with id " + id + "."));
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        List<S> matches = findAll(example);
+        if (matches.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, matches.size());
+        }
+        return matches.stream().findFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> List<S> findAll(Example<S> example) {
+        List<S> matches = new ArrayList<>();
+        for (T row : rows.values()) {
+            if (example.getProbeType().isInstance(row)) {
+                T candidate = copy(row);
+                if (!Boolean.FALSE.equals(matches(example.getMatcher(), "", example.getProbe(), candidate))) {
+                    matches.add((S) candidate);
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        List<S> all = findAll(example);
+        all.sort(comparator(sort));
+        return all;
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return toPage(findAll(example, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return findAll(example).size();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return !findAll(example).isEmpty();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Fluent query by example is not supported by the in-memory storage engine.");
+    }
+
+    private static <S> Page<S> toPage(List<S> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    /**
+     * Matches the candidate against the probe's non-null properties the way the JPA query by example would, going into
+     * referenced entities. Null if the probe constrains nothing at this path.
+     */
+    private Boolean matches(ExampleMatcher matcher, String path, Object probe, Object candidate) {
+        BeanWrapperImpl expected = new BeanWrapperImpl(probe);
+        BeanWrapperImpl actual = candidate == null ? null : new BeanWrapperImpl(candidate);
+        Boolean result = null;
+        for (PropertyDescriptor property : expected.getPropertyDescriptors()) {
+            String name = property.getName();
+            String propertyPath = path.isEmpty() ? name : path + "." + name;
+            if (property.getReadMethod() == null || "class".equals(name) || matcher.isIgnoredPath(propertyPath)) {
+                continue;
+            }
+
+            Object value = expected.getPropertyValue(name);
+            Object other = actual == null ? null : actual.getPropertyValue(name);
+            Boolean matched;
+            if (value == null) {
+                matched = matcher.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE ? other == null : null;
+            } else if (value instanceof String text) {
+                matched = other instanceof String otherText && matches(matcher, propertyPath, text, otherText);
+            } else if (BeanUtils.isSimpleValueType(value.getClass()) || value.getClass().isArray()) {
+                matched = Objects.deepEquals(value, other);
+            } else {
+                matched = matches(matcher, propertyPath, value, other);
+            }
+
+            if (matched == null) {
+                continue;
+            }
+            if (matcher.isAllMatching() ? !matched : matched) {
+                return matched;
+            }
+            result = matched;
+        }
+        return result;
+    }
+
+    private static boolean matches(ExampleMatcher matcher, String path, String expected, String actual) {
+        ExampleMatcher.PropertySpecifier specifier = matcher.getPropertySpecifiers().getForPath(path);
+        ExampleMatcher.StringMatcher stringMatcher = specifier != null && specifier.getStringMatcher() != null
+                ? specifier.getStringMatcher() : matcher.getDefaultStringMatcher();
+        boolean ignoreCase = specifier != null && specifier.getIgnoreCase() != null
+                ? specifier.getIgnoreCase() : matcher.isIgnoreCaseEnabled();
+        if (stringMatcher == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(expected, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0).matcher(actual).matches();
+        }
+        if (ignoreCase) {
+            expected = expected.toLowerCase(Locale.ROOT);
+            actual = actual.toLowerCase(Locale.ROOT);
+        }
+        return switch (stringMatcher) {
+            case STARTING -> actual.startsWith(expected);
+            case ENDING -> actual.endsWith(expected);
+            case CONTAINING -> actual.contains(expected);
+            default -> actual.equals(expected);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (first, second) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> values = order.isAscending()
+                    ? Comparator.nullsFirst(Comparator.naturalOrder())
+                    : Comparator.nullsLast(Comparator.<Comparable>naturalOrder().reversed());
+            comparator = comparator.thenComparing(
+                    entity -> (Comparable) new BeanWrapperImpl(entity).getPropertyValue(order.getProperty()), values);
+        }
+        return comparator;
+    }
+
+    /**
+     * Writes of one transaction on this repository, newest first, replayed if the transaction does not commit.
+     */
+    private static class UndoLog implements TransactionSynchronization {
+
+        private final InMemoryRepository<?> repository;
+
+        private final Deque<Runnable> changes = new ArrayDeque<>();
+
+        private UndoLog(InMemoryRepository<?> repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) {
+                synchronized (repository) {
+                    changes.forEach(Runnable::run);
+                }
+            }
+        }
+
+    }
+
+}
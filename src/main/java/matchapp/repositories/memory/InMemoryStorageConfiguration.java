@@ -0,0 +1,21 @@
+package matchapp.repositories.memory;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * The "memory" profile swaps the JPA repositories for concurrent in-memory ones. Application-memory.properties turns
+ * off the datasource and JPA auto-configuration, so nothing connects to a database.
+ */
+@Configuration
+@Profile("memory")
+public class InMemoryStorageConfiguration {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+
+}
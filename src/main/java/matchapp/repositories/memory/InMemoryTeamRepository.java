@@ -0,0 +1,144 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.repositories.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Repository
+@Profile("memory")
+public class InMemoryTeamRepository extends InMemoryRepository<Team> implements TeamRepository {
+
+    private static final Comparator<Team> BY_NAME = Comparator.comparing(Team::getName).thenComparing(Team::getId);
+
+    @Autowired
+    private InMemoryTournamentRepository tournaments;
+
+    private final Map<UUID, Set<UUID>> byTournament = new ConcurrentHashMap<>();
+
+    private final Map<Name, UUID> byName = new ConcurrentHashMap<>();
+
+    private final Map<UUID, NavigableSet<Team>> byTournamentName = new ConcurrentHashMap<>();
+
+    @Override
+    protected UUID idOf(Team team) {
+        return team.getId();
+    }
+
+    @Override
+    protected void assignId(Team team, UUID id) {
+        team.setId(id);
+    }
+
+    @Override
+    protected Team copy(Team team) {
+        return new Team(team.getId(), tournaments.current(team.getTournament()), team.getName());
+    }
+
+    @Override
+    protected void index(Team team) {
+        link(byTournament, team.getTournament().getId(), team.getId());
+        byName.put(new Name(team.getTournament().getId(), team.getName()), team.getId());
+        byTournamentName.computeIfAbsent(team.getTournament().getId(), ignored -> new ConcurrentSkipListSet<>(BY_NAME)).add(team);
+    }
+
+    @Override
+    protected void unindex(Team team) {
+        unlink(byTournament, team.getTournament().getId(), team.getId());
+        byName.remove(new Name(team.getTournament().getId(), team.getName()), team.getId());
+        byTournamentName.computeIfPresent(team.getTournament().getId(), (ignored, teams) -> {
+            teams.remove(team);
+            return teams.isEmpty() ? null : teams;
+        });
+    }
+
+    @Override
+    public List<Team> findByTournament(Tournament tournament) {
+        return load(indexed(byTournament, tournament.getId()));
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByTournamentId(UUID tournament, Collection<String> fields) {
+        List<Map<String, Object>> selected = new ArrayList<>();
+        for (UUID id : indexed(byTournament, tournament)) {
+            Team team = rows.get(id);
+            if (team != null) {
+                selected.add(fieldsOf(team, fields));
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public List<Team> findAllWithTournamentById(Collection<UUID> ids) {
+        return load(ids);
+    }
+
+    @Override
+    public List<Team> findPage(Tournament tournament, String pattern, String afterName, UUID afterId, Pageable pageable) {
+        NavigableSet<Team> ordered = byTournamentName.get(tournament.getId());
+        if (ordered == null) {
+            return new ArrayList<>();
+        }
+
+        String prefix = prefixOf(pattern);
+        NavigableSet<Team> tail = afterName != null
+                ? ordered.tailSet(new Team(afterId, null, afterName), false)
+                : ordered.tailSet(new Team(new UUID(Long.MIN_VALUE, Long.MIN_VALUE), null, prefix), true);
+
+        List<Team> page = new ArrayList<>();
+        for (Team team : tail) {
+            if (page.size() >= pageable.getPageSize()) {
+                break;
+            }
+            if (team.getName().startsWith(prefix)) {
+                page.add(copy(team));
+            } else if (team.getName().compareTo(prefix) > 0) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<UUID> findIdsByTournament(Tournament tournament, Pageable pageable) {
+        return page(indexed(byTournament, tournament.getId()), pageable);
+    }
+
+    @Override
+    public Boolean existsByTournamentAndName(Tournament tournament, String name) {
+        return byName.containsKey(new Name(tournament.getId(), name));
+    }
+
+    @Override
+    public Optional<Team> findByTournamentAndName(Tournament tournament, String name) {
+        UUID id = byName.get(new Name(tournament.getId(), name));
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    /**
+     * Reverses the LIKE pattern built for {@link #findPage}: an escaped prefix followed by a single wildcard.
+     */
+    private static String prefixOf(String pattern) {
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < pattern.length() - 1; i++) {
+            char c = pattern.charAt(i);
+            if (c == '!') {
+                c = pattern.charAt(++i);
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+
+    private record Name(UUID tournament, String name) {
+    }
+
+}
@@ -0,0 +1,61 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.Tournament;
+import matchapp.repositories.TournamentRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("memory")
+public class InMemoryTournamentRepository extends InMemoryRepository<Tournament> implements TournamentRepository {
+
+    @Override
+    protected UUID idOf(Tournament tournament) {
+        return tournament.getId();
+    }
+
+    @Override
+    protected void assignId(Tournament tournament, UUID id) {
+        tournament.setId(id);
+    }
+
+    @Override
+    protected Tournament copy(Tournament tournament) {
+        return new Tournament(tournament.getId(), tournament.getName(), tournament.getLocation(),
+                tournament.getStartDate(), tournament.getEndDate(), tournament.getIsFull());
+    }
+
+    @Override
+    public Optional<Tournament> findForUpdateById(UUID id) {
+        return findForUpdate(id);
+    }
+
+    @Override
+    public List<Tournament> findByEndDateBefore(LocalDate date) {
+        return rows.values().stream()
+                .filter(tournament -> tournament.getEndDate().isBefore(date))
+                .map(this::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Collection<String> fields) {
+        return rows.values().stream()
+                .map(tournament -> fieldsOf(tournament, fields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(UUID id, Collection<String> fields) {
+        return Optional.ofNullable(rows.get(id)).map(tournament -> fieldsOf(tournament, fields));
+    }
+
+}
@@ -0,0 +1,88 @@
+package matchapp.repositories.memory;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager for the in-memory storage engine. There is no resource to begin or commit; it only drives
+ * transaction synchronization, which the repositories use to undo rolled-back writes and the services use for their
+ * after-commit listeners. A thread-bound holder marks the running transaction so that inner scopes join it, and
+ * carries the rollback-only flag between them.
+ */
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Transaction((Holder) TransactionSynchronizationManager.getResource(this));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((Transaction) transaction).holder != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Holder holder = new Holder();
+        ((Transaction) transaction).holder = holder;
+        TransactionSynchronizationManager.bindResource(this, holder);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((Transaction) transaction).holder = null;
+        return TransactionSynchronizationManager.unbindResource(this);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(this, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((Transaction) status.getTransaction()).holder.rollbackOnly = true;
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+    }
+
+    private static class Holder {
+
+        private volatile boolean rollbackOnly;
+
+    }
+
+    private static class Transaction implements SmartTransactionObject {
+
+        private Holder holder;
+
+        private Transaction(Holder holder) {
+            this.holder = holder;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return holder != null && holder.rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+    }
+
+}
@@ -0,0 +1,356 @@
+package matchapp.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.ArchivedTournament;
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.errors.DomainException;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.models.ArchiveResponse;
+import matchapp.models.TournamentByIdResponse;
+import matchapp.repositories.ArchivedTournamentRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.pooling.WorkloadContext;
+import matchapp.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for finished tournaments. Once a tournament has been over for the grace period, it is written with its
+ * teams and matches to an archive row on its own shard and its rows are purged, which keeps the hot tables and their
+ * indexes small. The archive is in the database, so every instance sees it. Lookups by id fall back to the archive,
+ * and rating rebuilds replay archived results too, reading the archives a page at a time; other in-memory state of the
+ * tournament is dropped on the {@link TournamentArchivedEvent}. One instance archives at a time, under a job lease.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final String LOCK = "archive";
+
+    private static final TypeReference<List<TournamentArchive.ArchivedTeam>> TEAMS = new TypeReference<>() {
+    };
+
+    private static final TypeReference<List<TournamentArchive.ArchivedMatch>> MATCHES = new TypeReference<>() {
+    };
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ArchivedTournamentRepository archivedTournamentRepository;
+
+    @Autowired
+    private TournamentPurger tournamentPurger;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${matchapp.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matchapp.archive.grace-days:30}")
+    private int graceDays;
+
+    @Value("${matchapp.archive.lock-lease:1h}")
+    private Duration lockLease;
+
+    @Value("${matchapp.archive.page-size:100}")
+    private int pageSize;
+
+    @Scheduled(cron = "${matchapp.archive.cron:0 30 0 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            try {
+                ArchiveResponse response = archive();
+                log.info("Archived {} tournaments with {} teams and {} matches", response.getTournaments(), response.getTeams(), response.getMatches());
+            } catch (DomainException e) {
+                log.info("Skipped archiving: {}", e.getError().getMessage());
+            } catch (ResponseStatusException e) {
+                log.warn("Could not archive finished tournaments", e.getCause());
+            }
+        }
+    }
+
+    public synchronized ArchiveResponse archive() {
+        if (!jobLockService.tryAcquire(LOCK, lockLease)) {
+            throw DomainError.ARCHIVE_RUNNING.exception();
+        }
+
+        try {
+            return archiveFinished();
+        } finally {
+            jobLockService.release(LOCK);
+        }
+    }
+
+    private ArchiveResponse archiveFinished() {
+        LocalDate cutoff = LocalDate.now().minusDays(graceDays);
+        List<Tournament> finished = WorkloadContext.bulk(() -> shardRouter.scatter(() -> tournamentRepository.findByEndDateBefore(cutoff)));
+
+        ArchiveResponse response = new ArchiveResponse();
+        response.setTournaments(0);
+        response.setTeams(0);
+        response.setMatches(0);
+        response.setBytes(0L);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            for (Tournament tournament : finished) {
+                WorkloadContext.bulk(() -> shardRouter.on(shardRouter.shardOf(tournament.getId()), () -> {
+                    archive(tournament, transactionTemplate, response);
+                    return null;
+                }));
+            }
+        } catch (UncheckedIOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Archive could not be written.", e.getCause());
+        }
+        return response;
+    }
+
+    public Optional<TournamentByIdResponse> findById(UUID id) {
+        return onShardOf(id, () -> archivedTournamentRepository.findSummaryById(id)).map(summary -> {
+            Tournament tournament = new Tournament(summary.id(), summary.name(), summary.location(),
+                    summary.startDate(), summary.endDate(), summary.isFull());
+
+            TournamentByIdResponse response = new TournamentByIdResponse();
+            response.setId(summary.id());
+            response.setName(summary.name());
+            response.setLocation(summary.location());
+            response.setStartDate(summary.startDate());
+            response.setEndDate(summary.endDate());
+            response.setIsFull(summary.isFull());
+            response.setTeams(teamsOf(decode(summary.teams(), TEAMS), tournament).values().stream().toList());
+            return response;
+        });
+    }
+
+    public boolean isArchived(UUID id) {
+        return onShardOf(id, () -> archivedTournamentRepository.existsById(id));
+    }
+
+    /**
+     * The archived tournament as stored, or nothing if it was not archived.
+     */
+    public Optional<TournamentArchive> findArchive(UUID id) {
+        return onShardOf(id, () -> archivedTournamentRepository.findById(id)).map(this::toArchive);
+    }
+
+    /**
+     * Removes an archived tournament and returns the ids of its teams, or nothing if it was not archived.
+     */
+    public Optional<List<UUID>> delete(UUID id) {
+        return onShardOf(id, () -> archivedTournamentRepository.findSummaryById(id).map(summary -> {
+            archivedTournamentRepository.deleteById(id);
+            return decode(summary.teams(), TEAMS).stream().map(TournamentArchive.ArchivedTeam::getId).toList();
+        }));
+    }
+
+    /**
+     * Scored matches of every archived tournament, in date order within each tournament, rebuilt as detached entities.
+     * The archives are read shard by shard, one page at a time.
+     */
+    public List<Match> findScoredMatches() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+
+        List<Match> matches = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.count(); shard++) {
+            UUID after = null;
+            List<ArchivedTournament> page;
+            do {
+                int target = shard;
+                UUID last = after;
+                page = WorkloadContext.bulk(() -> shardRouter.on(target, () -> transactionTemplate.execute(status -> last == null
+                        ? archivedTournamentRepository.findAllByOrderByIdAsc(PageRequest.of(0, pageSize))
+                        : archivedTournamentRepository.findByIdGreaterThanOrderByIdAsc(last, PageRequest.of(0, pageSize)))));
+                for (ArchivedTournament archived : page) {
+                    addScoredMatches(toArchive(archived), matches);
+                    after = archived.getId();
+                }
+            } while (page.size() == pageSize);
+        }
+        return matches;
+    }
+
+    private void addScoredMatches(TournamentArchive archive, List<Match> matches) {
+        Tournament tournament = tournamentOf(archive);
+        Map<UUID, Team> teams = teamsOf(archive.getTeams(), tournament);
+        archive.getMatches().stream()
+                .filter(match -> match.getHomeScore() != null && match.getAwayScore() != null)
+                .sorted(Comparator.comparing(TournamentArchive.ArchivedMatch::getDateTime))
+                .forEach(match -> matches.add(new Match(match.getId(), tournament, match.getDateTime(),
+                        teams.get(match.getHome()), teams.get(match.getAway()), match.getHomeScore(), match.getAwayScore())));
+    }
+
+    private void archive(Tournament tournament, TransactionTemplate transactionTemplate, ArchiveResponse response) {
+        // The archive row commits before any row goes. If the purge stops part way, the rows still win on lookup and
+        // the next run writes the archive again from the remaining rows and what the archive already holds.
+        Stored stored = transactionTemplate.execute(status -> store(toArchive(tournament)));
+        try {
+            tournamentPurger.purge(tournament, false, teams -> eventPublisher.publishEvent(new TournamentArchivedEvent(tournament.getId(), teams)));
+        } catch (IllegalStateException e) {
+            log.warn("Tournament {} changed while it was archived and stays for the next run", tournament.getId(), e);
+            return;
+        }
+
+        response.setTournaments(response.getTournaments() + 1);
+        response.setTeams(response.getTeams() + stored.teams());
+        response.setMatches(response.getMatches() + stored.matches());
+        response.setBytes(response.getBytes() + stored.bytes());
+    }
+
+    /**
+     * Builds the archive from the tournament's rows, keeping the teams and matches of an earlier archive whose rows
+     * were already purged.
+     */
+    private TournamentArchive toArchive(Tournament tournament) {
+        List<Team> teams = teamRepository.findByTournament(tournament);
+        List<Match> matches = matchRepository.findByTournament(tournament);
+
+        TournamentArchive archive = new TournamentArchive();
+        archive.setId(tournament.getId());
+        archive.setName(tournament.getName());
+        archive.setLocation(tournament.getLocation());
+        archive.setStartDate(tournament.getStartDate());
+        archive.setEndDate(tournament.getEndDate());
+        archive.setIsFull(tournament.getIsFull());
+        archive.setArchivedAt(System.currentTimeMillis());
+        archive.setTeams(teams.stream().map(team -> {
+            TournamentArchive.ArchivedTeam archived = new TournamentArchive.ArchivedTeam();
+            archived.setId(team.getId());
+            archived.setName(team.getName());
+            return archived;
+        }).collect(Collectors.toCollection(ArrayList::new)));
+        archive.setMatches(matches.stream().map(match -> {
+            TournamentArchive.ArchivedMatch archived = new TournamentArchive.ArchivedMatch();
+            archived.setId(match.getId());
+            archived.setHome(match.getHome().getId());
+            archived.setAway(match.getAway().getId());
+            archived.setDateTime(match.getDateTime());
+            archived.setHomeScore(match.getHomeScore());
+            archived.setAwayScore(match.getAwayScore());
+            return archived;
+        }).collect(Collectors.toCollection(ArrayList::new)));
+
+        archivedTournamentRepository.findById(tournament.getId()).map(this::toArchive).ifPresent(earlier -> {
+            Set<UUID> teamIds = teams.stream().map(Team::getId).collect(Collectors.toSet());
+            Set<UUID> matchIds = matches.stream().map(Match::getId).collect(Collectors.toSet());
+            earlier.getTeams().stream().filter(team -> !teamIds.contains(team.getId())).forEach(archive.getTeams()::add);
+            earlier.getMatches().stream().filter(match -> !matchIds.contains(match.getId())).forEach(archive.getMatches()::add);
+        });
+        return archive;
+    }
+
+    private TournamentArchive toArchive(ArchivedTournament archived) {
+        TournamentArchive archive = new TournamentArchive();
+        archive.setId(archived.getId());
+        archive.setName(archived.getName());
+        archive.setLocation(archived.getLocation());
+        archive.setStartDate(archived.getStartDate());
+        archive.setEndDate(archived.getEndDate());
+        archive.setIsFull(archived.getIsFull());
+        archive.setArchivedAt(archived.getArchivedAt());
+        archive.setTeams(decode(archived.getTeams(), TEAMS));
+        archive.setMatches(decode(archived.getMatches(), MATCHES));
+        return archive;
+    }
+
+    private Stored store(TournamentArchive archive) {
+        byte[] teams = encode(archive.getTeams());
+        byte[] matches = encode(archive.getMatches());
+        archivedTournamentRepository.save(new ArchivedTournament(archive.getId(), archive.getName(), archive.getLocation(),
+                archive.getStartDate(), archive.getEndDate(), archive.getIsFull(), archive.getArchivedAt(), teams, matches));
+        return new Stored(archive.getTeams().size(), archive.getMatches().size(), (long) teams.length + matches.length);
+    }
+
+    private byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private <T> T decode(byte[] bytes, TypeReference<T> type) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return objectMapper.readValue(in, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T onShardOf(UUID id, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return shardRouter.on(shardRouter.shardOf(id), () -> transactionTemplate.execute(status -> work.get()));
+    }
+
+    private Tournament tournamentOf(TournamentArchive archive) {
+        return new Tournament(archive.getId(), archive.getName(), archive.getLocation(),
+                archive.getStartDate(), archive.getEndDate(), archive.getIsFull());
+    }
+
+    private Map<UUID, Team> teamsOf(List<TournamentArchive.ArchivedTeam> teams, Tournament tournament) {
+        return teams.stream()
+                .map(team -> new Team(team.getId(), tournament, team.getName()))
+                .collect(Collectors.toMap(Team::getId, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private record Stored(int teams, int matches, long bytes) {
+    }
+
+}
@@ -0,0 +1,52 @@
+package matchapp.services;
+
+import matchapp.models.BatchResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Request handling shared by the multi-get endpoints: ids are de-duplicated in request order, and the rows found by
+ * one IN lookup are put back into that order with the ids that matched nothing reported separately.
+ */
+final class Batches {
+
+    private Batches() {
+    }
+
+    static List<UUID> distinct(List<UUID> ids, int maxIds) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ids must not be empty.");
+        }
+
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > maxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxIds + " ids can be requested at once.");
+        }
+        return distinct;
+    }
+
+    static <T> BatchResponse<T> collect(List<UUID> ids, Collection<T> found, Function<T, UUID> idOf) {
+        Map<UUID, T> byId = new HashMap<>();
+        found.forEach(item -> byId.put(idOf.apply(item), item));
+
+        List<T> items = new ArrayList<>(ids.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            T item = byId.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        BatchResponse<T> response = new BatchResponse<>();
+        response.setItems(items);
+        response.setMissing(missing);
+        return response;
+    }
+
+}
@@ -0,0 +1,351 @@
+package matchapp.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Array-backed elimination bracket. Every match is a node with two entrant slots (slot index = node * 2 + side) and
+ * precomputed winner/loser destinations, so recording a result touches only the nodes along one path. Single
+ * elimination uses the winners rounds only; double elimination adds the standard losers rounds and a grand final.
+ * The progress is derived from the recorded results, so a bracket can be rebuilt by replaying them; the revision is
+ * the stored bracket's revision the progress corresponds to. Changes made after {@link #begin()} are journaled so that
+ * an advance whose transaction rolls back can be undone.
+ */
+class Bracket {
+
+    static final String SINGLE = "single";
+
+    static final String DOUBLE = "double";
+
+    static final byte PENDING = 0;
+
+    static final byte TEAM = 1;
+
+    static final byte EMPTY = 2;
+
+    static final byte WINNERS = 0;
+
+    static final byte LOSERS = 1;
+
+    static final byte FINAL = 2;
+
+    final UUID id;
+
+    final UUID tournament;
+
+    final String format;
+
+    final int size;
+
+    final int nodes;
+
+    final Duration interval;
+
+    final byte[] stages;
+
+    final short[] rounds;
+
+    final int[] winnerTo;
+
+    final int[] loserTo;
+
+    final int[] depths;
+
+    final UUID[] entrants;
+
+    final byte[] entrantStates;
+
+    final LocalDateTime[] readyAt;
+
+    final UUID[] matches;
+
+    final LocalDateTime[] dateTimes;
+
+    final UUID[] winners;
+
+    final boolean[] decided;
+
+    final Map<UUID, Integer> nodeByMatch = new HashMap<>();
+
+    final Map<UUID, Integer> firstNode = new HashMap<>();
+
+    int revision;
+
+    private final LocalDateTime start;
+
+    private Deque<Runnable> undo;
+
+    Bracket(UUID id, UUID tournament, String format, List<UUID> seeds, LocalDateTime start, Duration interval, int revision) {
+        this.id = id;
+        this.tournament = tournament;
+        this.format = format;
+        this.start = start;
+        this.interval = interval;
+        this.revision = revision;
+
+        boolean doubleElimination = DOUBLE.equals(format);
+        int bracketSize = 2;
+        while (bracketSize < seeds.size()) {
+            bracketSize <<= 1;
+        }
+        this.size = doubleElimination ? Math.max(bracketSize, 4) : bracketSize;
+
+        int winnerRounds = Integer.numberOfTrailingZeros(size);
+        int loserRounds = doubleElimination ? 2 * (winnerRounds - 1) : 0;
+
+        int count = 0;
+        int[] winnerStart = new int[winnerRounds + 1];
+        for (int round = 1; round <= winnerRounds; round++) {
+            winnerStart[round] = count;
+            count += size >> round;
+        }
+
+        int[] loserStart = new int[loserRounds + 1];
+        int[] loserCount = new int[loserRounds + 1];
+        for (int round = 1; round <= loserRounds; round++) {
+            loserCount[round] = round == 1 ? size >> 2 : round % 2 == 0 ? loserCount[round - 1] : loserCount[round - 1] / 2;
+            loserStart[round] = count;
+            count += loserCount[round];
+        }
+
+        int grandFinal = doubleElimination ? count++ : -1;
+
+        this.nodes = count;
+        this.stages = new byte[count];
+        this.rounds = new short[count];
+        this.winnerTo = new int[count];
+        this.loserTo = new int[count];
+        this.depths = new int[count];
+        this.entrants = new UUID[count * 2];
+        this.entrantStates = new byte[count * 2];
+        this.readyAt = new LocalDateTime[count * 2];
+        this.matches = new UUID[count];
+        this.dateTimes = new LocalDateTime[count];
+        this.winners = new UUID[count];
+        this.decided = new boolean[count];
+        Arrays.fill(winnerTo, -1);
+        Arrays.fill(loserTo, -1);
+
+        for (int round = 1; round <= winnerRounds; round++) {
+            int matchesInRound = size >> round;
+            for (int j = 0; j < matchesInRound; j++) {
+                int node = winnerStart[round] + j;
+                stages[node] = WINNERS;
+                rounds[node] = (short) round;
+
+                if (round < winnerRounds) {
+                    winnerTo[node] = slot(winnerStart[round + 1] + j / 2, j % 2);
+                } else if (doubleElimination) {
+                    winnerTo[node] = slot(grandFinal, 0);
+                }
+
+                if (doubleElimination) {
+                    loserTo[node] = round == 1
+                            ? slot(loserStart[1] + j / 2, j % 2)
+                            : slot(loserStart[2 * (round - 1)] + matchesInRound - 1 - j, 1);
+                }
+            }
+        }
+
+        for (int round = 1; round <= loserRounds; round++) {
+            for (int j = 0; j < loserCount[round]; j++) {
+                int node = loserStart[round] + j;
+                stages[node] = LOSERS;
+                rounds[node] = (short) round;
+
+                if (round == loserRounds) {
+                    winnerTo[node] = slot(grandFinal, 1);
+                } else if (round % 2 == 1) {
+                    winnerTo[node] = slot(loserStart[round + 1] + j, 0);
+                } else {
+                    winnerTo[node] = slot(loserStart[round + 1] + j / 2, j % 2);
+                }
+            }
+        }
+
+        if (grandFinal >= 0) {
+            stages[grandFinal] = FINAL;
+            rounds[grandFinal] = 1;
+        }
+
+        for (int node = 0; node < count; node++) {
+            depths[node] = Math.max(depths[node], 1);
+            if (winnerTo[node] >= 0) {
+                depths[winnerTo[node] / 2] = Math.max(depths[winnerTo[node] / 2], depths[node] + 1);
+            }
+            if (loserTo[node] >= 0) {
+                depths[loserTo[node] / 2] = Math.max(depths[loserTo[node] / 2], depths[node] + 1);
+            }
+        }
+
+        int[] positions = positions(size);
+        for (int position = 0; position < size; position++) {
+            int seed = positions[position] - 1;
+            int slot = slot(position / 2, position % 2);
+            readyAt[slot] = start;
+            if (seed < seeds.size()) {
+                entrants[slot] = seeds.get(seed);
+                entrantStates[slot] = TEAM;
+                firstNode.put(seeds.get(seed), position / 2);
+            } else {
+                entrantStates[slot] = EMPTY;
+            }
+        }
+    }
+
+    LocalDateTime lastDateTime() {
+        int depth = Arrays.stream(depths).max().orElse(1);
+        return start.plus(interval.multipliedBy(depth - 1L));
+    }
+
+    void begin() {
+        undo = new ArrayDeque<>();
+    }
+
+    void commit(int committedRevision) {
+        undo = null;
+        revision = committedRevision;
+    }
+
+    void rollback() {
+        while (!undo.isEmpty()) {
+            undo.pop().run();
+        }
+        undo = null;
+    }
+
+    List<Integer> start() {
+        List<Integer> ready = new ArrayList<>();
+        for (int node = 0; node < size / 2; node++) {
+            check(node, ready);
+        }
+        return ready;
+    }
+
+    List<Integer> record(UUID match, UUID winner, UUID loser, LocalDateTime dateTime) {
+        List<Integer> ready = new ArrayList<>();
+        Integer node = nodeByMatch.get(match);
+        if (node != null && !decided[node]) {
+            decide(node, winner, loser, dateTime.plus(interval), ready);
+        }
+        return ready;
+    }
+
+    void scheduled(int node, UUID match) {
+        set(matches, node, match);
+        nodeByMatch.put(match, node);
+        if (undo != null) {
+            undo.push(() -> nodeByMatch.remove(match));
+        }
+    }
+
+    UUID home(int node) {
+        return entrants[slot(node, 0)];
+    }
+
+    UUID away(int node) {
+        return entrants[slot(node, 1)];
+    }
+
+    List<Integer> path(UUID team) {
+        List<Integer> path = new ArrayList<>();
+        Integer node = firstNode.get(team);
+        while (node != null) {
+            path.add(node);
+            if (!decided[node]) {
+                break;
+            }
+
+            int next = team.equals(winners[node]) ? winnerTo[node] : loserTo[node];
+            node = next < 0 ? null : next / 2;
+        }
+        return path;
+    }
+
+    private void check(int node, List<Integer> ready) {
+        if (decided[node] || matches[node] != null) {
+            return;
+        }
+
+        byte home = entrantStates[slot(node, 0)];
+        byte away = entrantStates[slot(node, 1)];
+        if (home == PENDING || away == PENDING) {
+            return;
+        }
+
+        LocalDateTime at = later(readyAt[slot(node, 0)], readyAt[slot(node, 1)]);
+        set(dateTimes, node, at);
+        if (home == TEAM && away == TEAM) {
+            ready.add(node);
+            return;
+        }
+
+        UUID winner = home == TEAM ? home(node) : away == TEAM ? away(node) : null;
+        decide(node, winner, null, at, ready);
+    }
+
+    private void decide(int node, UUID winner, UUID loser, LocalDateTime at, List<Integer> ready) {
+        set(decided, node);
+        set(winners, node, winner);
+        fill(winnerTo[node], winner, at, ready);
+        fill(loserTo[node], loser, at, ready);
+    }
+
+    private void fill(int slot, UUID team, LocalDateTime at, List<Integer> ready) {
+        if (slot < 0) {
+            return;
+        }
+
+        set(entrants, slot, team);
+        set(entrantStates, slot, team == null ? EMPTY : TEAM);
+        set(readyAt, slot, at);
+        check(slot / 2, ready);
+    }
+
+    private <T> void set(T[] values, int index, T value) {
+        if (undo != null) {
+            T previous = values[index];
+            undo.push(() -> values[index] = previous);
+        }
+        values[index] = value;
+    }
+
+    private void set(byte[] values, int index, byte value) {
+        if (undo != null) {
+            byte previous = values[index];
+            undo.push(() -> values[index] = previous);
+        }
+        values[index] = value;
+    }
+
+    private void set(boolean[] values, int index) {
+        if (undo != null) {
+            boolean previous = values[index];
+            undo.push(() -> values[index] = previous);
+        }
+        values[index] = true;
+    }
+
+    private static LocalDateTime later(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static int slot(int node, int side) {
+        return node * 2 + side;
+    }
+
+    private static int[] positions(int size) {
+        int[] positions = {1};
+        while (positions.length < size) {
+            int[] next = new int[positions.length * 2];
+            for (int i = 0; i < positions.length; i++) {
+                next[i * 2] = positions[i];
+                next[i * 2 + 1] = positions.length * 2 + 1 - positions[i];
+            }
+            positions = next;
+        }
+        return positions;
+    }
+
+}
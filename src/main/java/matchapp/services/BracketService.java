@@ -0,0 +1,398 @@
+package matchapp.services;
+
+import matchapp.entities.KnockoutBracket;
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.models.BracketNodeResponse;
+import matchapp.models.BracketRequest;
+import matchapp.models.BracketResponse;
+import matchapp.repositories.BracketRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Knockout brackets. The bracket definition is stored and its progress is kept in memory. A result of one of its
+ * matches advances the cached bracket along that match's path only, in the result's transaction under the bracket's
+ * row lock, and schedules every match that became ready, so a result and the next round commit together; a rollback
+ * undoes the advance. The stored revision counts advances. When the cache is behind it, because the bracket was
+ * advanced elsewhere, or on start, the progress is replayed from the tournament's matches instead.
+ */
+@Service
+public class BracketService {
+
+    private static final Logger log = LoggerFactory.getLogger(BracketService.class);
+
+    private static final String[] STAGES = {"winners", "losers", "final"};
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private BracketRepository bracketRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private final Map<UUID, Bracket> brackets = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Bracket> bracketsByMatch = new ConcurrentHashMap<>();
+
+    private final Map<UUID, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (KnockoutBracket listed : shardRouter.scatter(bracketRepository::findAll)) {
+            try {
+                shardRouter.on(shardRouter.shardOf(listed.getTournament().getId()), () -> transactionTemplate.execute(status -> {
+                    bracketRepository.findForUpdateById(listed.getId()).ifPresent(stored -> {
+                        Bracket bracket = replay(stored, stored.getTournament());
+                        afterCommit(() -> install(bracket));
+                    });
+                    return null;
+                }));
+            } catch (RuntimeException exception) {
+                log.warn("Could not load bracket {}.", listed.getId(), exception);
+            }
+        }
+    }
+
+    @Transactional
+    public BracketResponse create(UUID tournamentId, BracketRequest request) {
+        validationService.validate(request);
+        shardRouter.route(tournamentId);
+
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+
+        Map<UUID, Team> teams = teamRepository.findByTournament(tournament).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+
+        List<UUID> seeds;
+        if (request.getSeeds() == null || request.getSeeds().isEmpty()) {
+            seeds = teams.values().stream()
+                    .sorted(Comparator.comparingDouble((Team team) -> ratingService.ratingOf(team.getId())).reversed().thenComparing(Team::getName))
+                    .map(Team::getId)
+                    .toList();
+        } else {
+            seeds = new ArrayList<>(new LinkedHashSet<>(request.getSeeds()));
+            if (!teams.keySet().containsAll(seeds)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Team does not belong to tournament.");
+            }
+        }
+
+        if (seeds.size() < 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bracket needs at least two teams.");
+        }
+        if (request.getStartDateTime().isBefore(tournament.getStartDate().atStartOfDay())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bracket must start after tournament start date.");
+        }
+
+        int intervalHours = request.getRoundIntervalHours() == null ? 24 : request.getRoundIntervalHours();
+        Bracket layout = new Bracket(null, tournament.getId(), request.getFormat(), seeds, request.getStartDateTime(), Duration.ofHours(intervalHours), 0);
+        if (layout.lastDateTime().isAfter(tournament.getEndDate().atTime(23, 59, 59))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bracket must finish before tournament end date.");
+        }
+
+        KnockoutBracket stored = new KnockoutBracket();
+        stored.setTournament(tournament);
+        stored.setFormat(request.getFormat());
+        stored.setSeeds(List.copyOf(seeds));
+        stored.setStartDateTime(request.getStartDateTime());
+        stored.setRoundIntervalHours(intervalHours);
+        stored.setRevision(0);
+        stored = bracketRepository.save(stored);
+
+        Bracket bracket = new Bracket(stored.getId(), tournament.getId(), stored.getFormat(), stored.getSeeds(),
+                stored.getStartDateTime(), Duration.ofHours(stored.getRoundIntervalHours()), 0);
+        schedule(bracket, bracket.start(), tournament, teams);
+        afterCommit(() -> install(bracket));
+        return toResponse(bracket);
+    }
+
+    public BracketResponse findById(UUID id) {
+        Bracket bracket = bracket(id);
+        ReentrantLock lock = lockOf(id);
+        lock.lock();
+        try {
+            return toResponse(bracket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<BracketNodeResponse> findPath(UUID id, UUID team) {
+        Bracket bracket = bracket(id);
+        if (!bracket.firstNode.containsKey(team)) {
+            throw DomainError.TEAM_NOT_IN_BRACKET.exception();
+        }
+        ReentrantLock lock = lockOf(id);
+        lock.lock();
+        try {
+            return bracket.path(team).stream().map(node -> toResponse(bracket, node)).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the bracket of a match whose result is being recorded, inside the recording transaction: a draw is
+     * rejected, and a failure to schedule the next round fails the result too.
+     */
+    @EventListener
+    public void onMatchSaved(MatchSavedEvent event) {
+        Match match = event.getMatch();
+        Bracket current = bracketsByMatch.get(match.getId());
+        if (current == null || match.getHomeScore() == null || match.getAwayScore() == null) {
+            return;
+        }
+        if (match.getHomeScore().equals(match.getAwayScore())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Knockout matches cannot end in a draw.");
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            shardRouter.route(match.getTournament().getId());
+            KnockoutBracket stored = bracketRepository.findForUpdateById(current.id)
+                    .orElseThrow(DomainError.BRACKET_NOT_FOUND::exception);
+            int revision = stored.getRevision() + 1;
+            stored.setRevision(revision);
+            bracketRepository.save(stored);
+
+            // The row lock comes first, so instances and threads queue on it; the in-memory lock is then held until
+            // the advance is committed or undone, which keeps readers and the next advance out until then.
+            ReentrantLock lock = lockOf(current.id);
+            lock.lock();
+            Bracket cached = brackets.get(current.id);
+            Bracket advanced = cached != null && cached.revision == revision - 1 ? cached : null;
+            if (advanced != null) {
+                advanced.begin();
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        if (advanced != null && status == STATUS_COMMITTED) {
+                            advanced.commit(revision);
+                            install(advanced);
+                        } else if (advanced != null) {
+                            advanced.rollback();
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+
+            if (advanced != null) {
+                advance(advanced, match);
+            } else {
+                Bracket bracket = replay(stored, match.getTournament());
+                afterCommit(() -> install(bracket));
+            }
+        });
+    }
+
+    /**
+     * Records the result on the cached bracket, which touches only the nodes along the match's path, and schedules the
+     * nodes it made ready.
+     */
+    private void advance(Bracket bracket, Match match) {
+        boolean homeWon = match.getHomeScore() > match.getAwayScore();
+        UUID winner = homeWon ? match.getHome().getId() : match.getAway().getId();
+        UUID loser = homeWon ? match.getAway().getId() : match.getHome().getId();
+        List<Integer> ready = bracket.record(match.getId(), winner, loser, match.getDateTime());
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> entrants = new HashSet<>();
+        ready.forEach(node -> {
+            entrants.add(bracket.home(node));
+            entrants.add(bracket.away(node));
+        });
+        Map<UUID, Team> teams = teamRepository.findAllById(entrants).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        schedule(bracket, ready, match.getTournament(), teams);
+    }
+
+    private void schedule(Bracket bracket, Collection<Integer> ready, Tournament tournament, Map<UUID, Team> teams) {
+        for (int node : ready) {
+            Match scheduled = matchService.schedule(tournament, teams.get(bracket.home(node)), teams.get(bracket.away(node)), bracket.dateTimes[node]);
+            bracket.scheduled(node, scheduled.getId());
+        }
+    }
+
+    private ReentrantLock lockOf(UUID id) {
+        return locks.computeIfAbsent(id, ignored -> new ReentrantLock());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentDeleted(TournamentDeletedEvent event) {
+        evict(event.getTournament());
+    }
+
+    @TransactionalEventListener
+    public void onTournamentArchived(TournamentArchivedEvent event) {
+        evict(event.getTournament());
+    }
+
+    /**
+     * Rebuilds the bracket from its definition and the tournament's matches, for a bracket that is not cached or whose
+     * cache is behind. Every match the bracket needs is found by its teams and kick-off time; one that became ready
+     * but was never scheduled is scheduled now. The matches are read with a locking read, which sees results committed
+     * after this transaction's first read.
+     */
+    private Bracket replay(KnockoutBracket stored, Tournament tournament) {
+        Bracket bracket = new Bracket(stored.getId(), tournament.getId(), stored.getFormat(), stored.getSeeds(),
+                stored.getStartDateTime(), Duration.ofHours(stored.getRoundIntervalHours()), stored.getRevision());
+
+        Map<Fixture, Match> fixtures = new HashMap<>();
+        for (Match match : matchRepository.findLockedByTournament(tournament)) {
+            fixtures.put(new Fixture(match.getHome().getId(), match.getAway().getId(), match.getDateTime()), match);
+        }
+
+        Map<UUID, Team> teams = null;
+        Deque<Integer> ready = new ArrayDeque<>(bracket.start());
+        while (!ready.isEmpty()) {
+            int node = ready.poll();
+            Match match = fixtures.get(new Fixture(bracket.home(node), bracket.away(node), bracket.dateTimes[node]));
+            if (match == null) {
+                if (teams == null) {
+                    teams = teamRepository.findByTournament(tournament).stream()
+                            .collect(Collectors.toMap(Team::getId, Function.identity()));
+                }
+                match = matchService.schedule(tournament, teams.get(bracket.home(node)), teams.get(bracket.away(node)), bracket.dateTimes[node]);
+            }
+            bracket.scheduled(node, match.getId());
+
+            if (match.getHomeScore() != null && match.getAwayScore() != null && !match.getHomeScore().equals(match.getAwayScore())) {
+                boolean homeWon = match.getHomeScore() > match.getAwayScore();
+                UUID winner = homeWon ? match.getHome().getId() : match.getAway().getId();
+                UUID loser = homeWon ? match.getAway().getId() : match.getHome().getId();
+                ready.addAll(bracket.record(match.getId(), winner, loser, match.getDateTime()));
+            }
+        }
+        return bracket;
+    }
+
+    /**
+     * Caches a committed replay unless a later revision is already cached.
+     */
+    private synchronized void install(Bracket bracket) {
+        Bracket current = brackets.get(bracket.id);
+        if (current != null && current != bracket && current.revision > bracket.revision) {
+            return;
+        }
+        brackets.put(bracket.id, bracket);
+        bracket.nodeByMatch.keySet().forEach(match -> bracketsByMatch.put(match, bracket));
+    }
+
+    private synchronized void evict(UUID tournament) {
+        brackets.values().removeIf(bracket -> {
+            if (!bracket.tournament.equals(tournament)) {
+                return false;
+            }
+            bracket.nodeByMatch.keySet().forEach(bracketsByMatch::remove);
+            locks.remove(bracket.id);
+            return true;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Bracket bracket(UUID id) {
+        Bracket bracket = brackets.get(id);
+        if (bracket == null) {
+            throw DomainError.BRACKET_NOT_FOUND.exception();
+        }
+        return bracket;
+    }
+
+    private BracketResponse toResponse(Bracket bracket) {
+        List<BracketNodeResponse> nodes = new ArrayList<>(bracket.nodes);
+        for (int node = 0; node < bracket.nodes; node++) {
+            nodes.add(toResponse(bracket, node));
+        }
+
+        BracketResponse response = new BracketResponse();
+        response.setId(bracket.id);
+        response.setTournament(bracket.tournament);
+        response.setFormat(bracket.format);
+        response.setSize(bracket.size);
+        response.setNodes(nodes);
+        return response;
+    }
+
+    private BracketNodeResponse toResponse(Bracket bracket, int node) {
+        BracketNodeResponse response = new BracketNodeResponse();
+        response.setIndex(node);
+        response.setStage(STAGES[bracket.stages[node]]);
+        response.setRound((int) bracket.rounds[node]);
+        response.setHome(bracket.home(node));
+        response.setAway(bracket.away(node));
+        response.setMatch(bracket.matches[node]);
+        response.setDateTime(bracket.dateTimes[node]);
+        response.setWinner(bracket.winners[node]);
+        response.setDecided(bracket.decided[node]);
+        return response;
+    }
+
+    private record Fixture(UUID home, UUID away, LocalDateTime dateTime) {
+    }
+
+}
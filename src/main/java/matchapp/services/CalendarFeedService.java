@@ -0,0 +1,266 @@
+package matchapp.services;
+
+import jakarta.annotation.PostConstruct;
+import matchapp.entities.FeedVersion;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TeamSavedEvent;
+import matchapp.events.TournamentSavedEvent;
+import matchapp.pooling.WorkloadContext;
+import matchapp.repositories.CalendarEntry;
+import matchapp.repositories.FeedVersionRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamFeedVersion;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * iCalendar feeds of a tournament's or a team's fixtures. Every transaction that changes a tournament's feeds bumps
+ * the tournament's {@link FeedVersion} once, just before it commits, and a feed's ETag is made of that version, so
+ * every instance answers a calendar client revalidating an unchanged feed with a 304 after one primary key lookup. A
+ * changed feed is streamed from a projection straight to the response. A slow subscriber holds its connection for the
+ * whole download, so feeds use the bulk pool and at most {@code max-concurrent-feeds} of them run at once, which leaves
+ * the rest of that pool to bulk jobs. An archived tournament's feed is served from its archive; team feeds of archived
+ * tournaments are not, since the archive is only keyed by tournament.
+ */
+@Service
+public class CalendarFeedService {
+
+    public static final String CONTENT_TYPE = "text/calendar;charset=UTF-8";
+
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    // An archived tournament's feed never changes.
+    private static final String ARCHIVED_ETAG = "\"archived\"";
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private FeedVersionRepository feedVersionRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Value("${matchapp.calendar.match-duration:2h}")
+    private Duration matchDuration;
+
+    @Value("${matchapp.calendar.max-age:5m}")
+    private Duration maxAge;
+
+    @Value("${matchapp.calendar.max-concurrent-feeds:3}")
+    private int maxConcurrentFeeds;
+
+    private Semaphore feeds;
+
+    @PostConstruct
+    void init() {
+        feeds = new Semaphore(maxConcurrentFeeds);
+    }
+
+    @EventListener
+    public void onMatchSaved(MatchSavedEvent event) {
+        touch(event.getMatch().getTournament().getId());
+    }
+
+    @EventListener
+    public void onTournamentSaved(TournamentSavedEvent event) {
+        touch(event.getTournament().getId());
+    }
+
+    /**
+     * A team's name shows in its tournament's feed, and in the feed of the tournament it was moved from.
+     */
+    @EventListener
+    public void onTeamSaved(TeamSavedEvent event) {
+        touch(event.getTeam().getTournament().getId());
+        if (event.getPreviousTournament() != null) {
+            touch(event.getPreviousTournament());
+        }
+    }
+
+    public CacheControl cacheControl() {
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    public String tournamentETag(UUID tournament) {
+        Optional<Long> version = shardRouter.on(shardRouter.shardOf(tournament), () -> feedVersionRepository.findByTournament(tournament));
+        if (version.isPresent()) {
+            return "\"" + Long.toHexString(version.get()) + "\"";
+        }
+        if (archiveService.isArchived(tournament)) {
+            return ARCHIVED_ETAG;
+        }
+        throw DomainError.TOURNAMENT_NOT_FOUND.exception();
+    }
+
+    /**
+     * The team feed's ETag. It is made of the team's tournament and that tournament's version, which also covers the
+     * tournament's name and location that every event shows.
+     */
+    public String teamETag(UUID team) {
+        TeamFeedVersion version = shardRouter.on(shardRouter.shardOf(team), () -> feedVersionRepository.findByTeam(team))
+                .orElseThrow(DomainError.TEAM_NOT_FOUND::exception);
+        return "\"" + version.tournament() + "-" + Long.toHexString(version.version()) + "\"";
+    }
+
+    @Transactional(readOnly = true)
+    public void writeTournament(UUID id, OutputStream out) {
+        limited(() -> {
+            shardRouter.route(id);
+            Tournament tournament = tournamentRepository.findById(id).orElse(null);
+            if (tournament == null) {
+                TournamentArchive archive = archiveService.findArchive(id)
+                        .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+                write(archive.getName(), entriesOf(archive), out);
+                return null;
+            }
+
+            try (Stream<CalendarEntry> entries = matchRepository.streamCalendarByTournament(id)) {
+                write(tournament.getName(), entries, out);
+            }
+            return null;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public void writeTeam(UUID id, OutputStream out) {
+        limited(() -> {
+            shardRouter.route(id);
+            Team team = teamRepository.findById(id)
+                    .orElseThrow(DomainError.TEAM_NOT_FOUND::exception);
+
+            try (Stream<CalendarEntry> entries = matchRepository.streamCalendarByTeam(id)) {
+                write(team.getName(), entries, out);
+            }
+            return null;
+        });
+    }
+
+    private Stream<CalendarEntry> entriesOf(TournamentArchive archive) {
+        Map<UUID, String> names = archive.getTeams().stream()
+                .collect(Collectors.toMap(TournamentArchive.ArchivedTeam::getId, TournamentArchive.ArchivedTeam::getName, (first, second) -> first));
+        return archive.getMatches().stream()
+                .sorted(Comparator.comparing(TournamentArchive.ArchivedMatch::getDateTime))
+                .map(match -> new CalendarEntry(match.getId(), match.getDateTime(), names.get(match.getHome()), names.get(match.getAway()),
+                        match.getHomeScore(), match.getAwayScore(), archive.getName(), archive.getLocation()));
+    }
+
+    private void write(String name, Stream<CalendarEntry> entries, OutputStream out) {
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(LOCAL_DATE_TIME) + "Z";
+        String duration = matchDuration.toString();
+
+        ICalendarWriter calendar = new ICalendarWriter(out);
+        calendar.property("BEGIN", "VCALENDAR");
+        calendar.property("VERSION", "2.0");
+        calendar.property("PRODID", "-//matchapp//fixtures//EN");
+        calendar.property("CALSCALE", "GREGORIAN");
+        calendar.property("METHOD", "PUBLISH");
+        calendar.text("X-WR-CALNAME", name);
+        entries.forEach(entry -> {
+            calendar.property("BEGIN", "VEVENT");
+            calendar.property("UID", entry.id() + "@matchapp");
+            calendar.property("DTSTAMP", stamp);
+            calendar.property("DTSTART", entry.dateTime().format(LOCAL_DATE_TIME));
+            calendar.property("DURATION", duration);
+            calendar.text("SUMMARY", entry.homeScore() != null && entry.awayScore() != null
+                    ? entry.home() + " " + entry.homeScore() + "-" + entry.awayScore() + " " + entry.away()
+                    : entry.home() + " vs " + entry.away());
+            calendar.text("LOCATION", entry.location());
+            calendar.text("DESCRIPTION", entry.tournament());
+            calendar.property("END", "VEVENT");
+        });
+        calendar.property("END", "VCALENDAR");
+        calendar.flush();
+    }
+
+    /**
+     * Runs a feed download on the bulk pool, or rejects it if {@code max-concurrent-feeds} are already running.
+     */
+    private void limited(Supplier<Void> download) {
+        if (!feeds.tryAcquire()) {
+            throw DomainError.CALENDAR_FEEDS_BUSY.exception();
+        }
+        try {
+            WorkloadContext.bulk(download);
+        } finally {
+            feeds.release();
+        }
+    }
+
+    /**
+     * Marks the tournament's feeds as changed by the current transaction. The version is bumped once per transaction,
+     * just before it commits, so the row is only locked for the commit itself; tournaments are bumped in id order so
+     * that two transactions touching the same ones do not deadlock.
+     */
+    private void touch(UUID tournament) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(tournament);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<UUID> touched = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (touched == null) {
+            Set<UUID> pending = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    pending.forEach(CalendarFeedService.this::bump);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(CalendarFeedService.this);
+                }
+            });
+            touched = pending;
+        }
+        touched.add(tournament);
+    }
+
+    // A tournament's first bump inserts its row. Nothing else can bump a tournament before the transaction that
+    // creates it commits, so two first bumps do not race.
+    private void bump(UUID tournament) {
+        if (feedVersionRepository.increment(tournament) == 0) {
+            feedVersionRepository.save(new FeedVersion(tournament, 1L));
+        }
+    }
+
+}
@@ -0,0 +1,366 @@
+package matchapp.services;
+
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.models.HeadToHeadResponse;
+import matchapp.models.TiebreakerRequest;
+import matchapp.models.TiebreakerStanding;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Head-to-head records per tournament. Each tournament keeps a ledger of pair aggregates keyed by the two teams'
+ * dense indexes, loaded once from scored matches and then updated from committed match writes, so resolving a tied
+ * group of k teams costs k^2 pair lookups instead of a scan of the tournament's matches.
+ */
+@Service
+public class HeadToHeadService implements Snapshottable {
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private final Map<UUID, Ledger> ledgers = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener
+    public void onMatchSaved(MatchSavedEvent event) {
+        Match match = event.getMatch();
+        Ledger ledger = ledgers.get(match.getTournament().getId());
+        if (ledger != null) {
+            ledger.apply(match);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentDeleted(TournamentDeletedEvent event) {
+        ledgers.remove(event.getTournament());
+    }
+
+    @TransactionalEventListener
+    public void onTournamentArchived(TournamentArchivedEvent event) {
+        ledgers.remove(event.getTournament());
+    }
+
+    @Transactional(readOnly = true)
+    public HeadToHeadResponse headToHead(UUID id, UUID opponentId) {
+        shardRouter.route(id);
+
+        Team team = teamRepository.findById(id)
+                .orElseThrow(DomainError.TEAM_NOT_FOUND::exception);
+
+        Team opponent = teamRepository.findById(opponentId)
+                .orElseThrow(DomainError.OPPONENT_TEAM_NOT_FOUND::exception);
+
+        if (!team.getTournament().getId().equals(opponent.getTournament().getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Teams must belong to the same tournament.");
+        }
+
+        int[] record = ledger(team.getTournament()).record(team.getId(), opponent.getId());
+
+        HeadToHeadResponse response = new HeadToHeadResponse();
+        response.setTeam(team.getId());
+        response.setOpponent(opponent.getId());
+        response.setPlayed(record[Ledger.PLAYED]);
+        response.setWins(record[Ledger.WINS]);
+        response.setDraws(record[Ledger.DRAWS]);
+        response.setLosses(record[Ledger.LOSSES]);
+        response.setGoalsFor(record[Ledger.GOALS_FOR]);
+        response.setGoalsAgainst(record[Ledger.GOALS_AGAINST]);
+
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TiebreakerStanding> tiebreak(UUID tournamentId, TiebreakerRequest request) {
+        validationService.validate(request);
+        shardRouter.route(tournamentId);
+
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+
+        List<UUID> group = new ArrayList<>(new LinkedHashSet<>(request.getTeams()));
+        List<Team> teams = teamRepository.findAllById(group);
+        if (teams.size() != group.size()) {
+            throw DomainError.TEAM_NOT_FOUND.exception();
+        }
+        if (teams.stream().anyMatch(team -> !team.getTournament().getId().equals(tournament.getId()))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Team does not belong to tournament.");
+        }
+
+        Ledger ledger = ledger(tournament);
+        synchronized (ledger) {
+            Map<UUID, int[]> table = ledger.miniLeague(group);
+
+            List<TiebreakerStanding> standings = new ArrayList<>(group.size());
+            for (List<UUID> tier : order(ledger, group)) {
+                int rank = standings.size() + 1;
+                for (UUID team : tier) {
+                    int[] row = table.get(team);
+                    TiebreakerStanding standing = new TiebreakerStanding();
+                    standing.setTeam(team);
+                    standing.setRank(rank);
+                    standing.setPoints(row[0]);
+                    standing.setGoalDifference(row[1]);
+                    standing.setGoalsFor(row[2]);
+                    standings.add(standing);
+                }
+            }
+            return standings;
+        }
+    }
+
+    private List<List<UUID>> order(Ledger ledger, List<UUID> group) {
+        Map<UUID, int[]> table = ledger.miniLeague(group);
+        Comparator<UUID> comparator = Comparator.<UUID>comparingInt(team -> table.get(team)[0])
+                .thenComparingInt(team -> table.get(team)[1])
+                .thenComparingInt(team -> table.get(team)[2])
+                .reversed();
+
+        List<UUID> sorted = new ArrayList<>(group);
+        sorted.sort(comparator);
+
+        List<List<UUID>> tiers = new ArrayList<>();
+        for (int start = 0, end; start < sorted.size(); start = end) {
+            end = start + 1;
+            while (end < sorted.size() && comparator.compare(sorted.get(start), sorted.get(end)) == 0) {
+                end++;
+            }
+
+            List<UUID> tied = new ArrayList<>(sorted.subList(start, end));
+            if (tied.size() > 1 && tied.size() < group.size()) {
+                tiers.addAll(order(ledger, tied));
+            } else {
+                tiers.add(tied);
+            }
+        }
+        return tiers;
+    }
+
+    @Override
+    public String snapshotName() {
+        return "head-to-head";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        List<Map.Entry<UUID, Ledger>> loaded = ledgers.entrySet().stream().filter(entry -> entry.getValue().isLoaded()).toList();
+        out.writeInt(loaded.size());
+        for (Map.Entry<UUID, Ledger> entry : loaded) {
+            Snapshottable.writeId(out, entry.getKey());
+            entry.getValue().write(out);
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            UUID tournament = Snapshottable.readId(in);
+            Ledger ledger = new Ledger();
+            ledger.read(in);
+            ledgers.putIfAbsent(tournament, ledger);
+        }
+    }
+
+    private Ledger ledger(Tournament tournament) {
+        Ledger ledger = ledgers.computeIfAbsent(tournament.getId(), ignored -> new Ledger());
+        synchronized (ledger.loadLock) {
+            if (!ledger.isLoaded()) {
+                ledger.beginLoad();
+                ledger.finishLoad(matchRepository.findByTournamentAndHomeScoreNotNullAndAwayScoreNotNull(tournament));
+            }
+        }
+        return ledger;
+    }
+
+    private static class Ledger {
+
+        private static final int PLAYED = 0;
+
+        private static final int WINS = 1;
+
+        private static final int DRAWS = 2;
+
+        private static final int LOSSES = 3;
+
+        private static final int GOALS_FOR = 4;
+
+        private static final int GOALS_AGAINST = 5;
+
+        private final Map<UUID, Integer> indexes = new HashMap<>();
+
+        private final Map<Long, int[]> pairs = new HashMap<>();
+
+        private final Object loadLock = new Object();
+
+        /**
+         * Results committed while the load is reading are held here and replayed by match id, so a match that the
+         * load already read is not counted twice.
+         */
+        private List<Match> pending;
+
+        private boolean loaded;
+
+        private synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        private synchronized void beginLoad() {
+            pending = new ArrayList<>();
+        }
+
+        private synchronized void finishLoad(List<Match> matches) {
+            matches.forEach(this::add);
+
+            Set<UUID> loadedIds = matches.stream().map(Match::getId).collect(Collectors.toSet());
+            for (Match match : pending) {
+                if (!loadedIds.contains(match.getId())) {
+                    add(match);
+                }
+            }
+            pending = null;
+            loaded = true;
+        }
+
+        private synchronized void apply(Match match) {
+            if (loaded) {
+                add(match);
+            } else if (pending != null) {
+                pending.add(match);
+            }
+        }
+
+        private void add(Match match) {
+            if (match.getHomeScore() == null || match.getAwayScore() == null) {
+                return;
+            }
+
+            int home = index(match.getHome().getId());
+            int away = index(match.getAway().getId());
+            boolean homeLow = home < away;
+            int lowGoals = homeLow ? match.getHomeScore() : match.getAwayScore();
+            int highGoals = homeLow ? match.getAwayScore() : match.getHomeScore();
+
+            int[] pair = pairs.computeIfAbsent(key(home, away), ignored -> new int[6]);
+            pair[PLAYED]++;
+            pair[lowGoals > highGoals ? WINS : lowGoals == highGoals ? DRAWS : LOSSES]++;
+            pair[GOALS_FOR] += lowGoals;
+            pair[GOALS_AGAINST] += highGoals;
+        }
+
+        private synchronized int[] record(UUID team, UUID opponent) {
+            int[] record = new int[6];
+            Integer teamIndex = indexes.get(team);
+            Integer opponentIndex = indexes.get(opponent);
+            if (teamIndex == null || opponentIndex == null) {
+                return record;
+            }
+
+            int[] pair = pairs.get(key(teamIndex, opponentIndex));
+            if (pair == null) {
+                return record;
+            }
+
+            boolean low = teamIndex < opponentIndex;
+            record[PLAYED] = pair[PLAYED];
+            record[WINS] = low ? pair[WINS] : pair[LOSSES];
+            record[DRAWS] = pair[DRAWS];
+            record[LOSSES] = low ? pair[LOSSES] : pair[WINS];
+            record[GOALS_FOR] = low ? pair[GOALS_FOR] : pair[GOALS_AGAINST];
+            record[GOALS_AGAINST] = low ? pair[GOALS_AGAINST] : pair[GOALS_FOR];
+            return record;
+        }
+
+        private synchronized Map<UUID, int[]> miniLeague(List<UUID> group) {
+            Map<UUID, int[]> table = new HashMap<>();
+            group.forEach(team -> table.put(team, new int[3]));
+
+            for (int i = 0; i < group.size(); i++) {
+                for (int j = i + 1; j < group.size(); j++) {
+                    int[] record = record(group.get(i), group.get(j));
+                    int[] first = table.get(group.get(i));
+                    int[] second = table.get(group.get(j));
+
+                    first[0] += record[WINS] * 3 + record[DRAWS];
+                    second[0] += record[LOSSES] * 3 + record[DRAWS];
+                    first[1] += record[GOALS_FOR] - record[GOALS_AGAINST];
+                    second[1] += record[GOALS_AGAINST] - record[GOALS_FOR];
+                    first[2] += record[GOALS_FOR];
+                    second[2] += record[GOALS_AGAINST];
+                }
+            }
+            return table;
+        }
+
+        private synchronized void write(DataOutput out) throws IOException {
+            out.writeInt(indexes.size());
+            for (Map.Entry<UUID, Integer> entry : indexes.entrySet()) {
+                Snapshottable.writeId(out, entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.writeInt(pairs.size());
+            for (Map.Entry<Long, int[]> entry : pairs.entrySet()) {
+                out.writeLong(entry.getKey());
+                for (int value : entry.getValue()) {
+                    out.writeInt(value);
+                }
+            }
+        }
+
+        private synchronized void read(DataInput in) throws IOException {
+            for (int i = in.readInt(); i > 0; i--) {
+                indexes.put(Snapshottable.readId(in), in.readInt());
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                long key = in.readLong();
+                int[] pair = new int[6];
+                for (int j = 0; j < pair.length; j++) {
+                    pair[j] = in.readInt();
+                }
+                pairs.put(key, pair);
+            }
+            loaded = true;
+        }
+
+        private int index(UUID team) {
+            return indexes.computeIfAbsent(team, ignored -> indexes.size());
+        }
+
+        private static long key(int first, int second) {
+            return ((long) Math.min(first, second) << 32) | Math.max(first, second);
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package matchapp.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes iCalendar (RFC 5545) content lines as they come: each ends in CRLF, text values are escaped, and lines longer
+ * than 75 octets are folded onto continuation lines. The stream is flushed, not closed.
+ */
+final class ICalendarWriter {
+
+    private static final int MAX_OCTETS = 75;
+
+    private final Writer out;
+
+    ICalendarWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    void property(String name, String value) {
+        line(name + ":" + value);
+    }
+
+    void text(String name, String value) {
+        if (value == null) {
+            return;
+        }
+
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(c);
+            }
+        }
+        property(name, escaped.toString());
+    }
+
+    void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void line(String line) {
+        try {
+            int octets = 0;
+            for (int i = 0; i < line.length(); ) {
+                int codePoint = line.codePointAt(i);
+                int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+                if (octets + width > MAX_OCTETS) {
+                    out.write("\r\n ");
+                    octets = 1;
+                }
+                out.write(line, i, Character.charCount(codePoint));
+                octets += width;
+                i += Character.charCount(codePoint);
+            }
+            out.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package matchapp.services;
+
+import matchapp.entities.JobLock;
+import matchapp.repositories.JobLockRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cluster-wide leases on scheduled jobs, held in lock rows on the first shard. A lease is taken under the row's lock
+ * and lapses at its expiry, so an instance that dies mid-job blocks the others only until then.
+ */
+@Service
+public class JobLockService {
+
+    private final String owner = ProcessHandle.current().pid() + "@" + UUID.randomUUID();
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Takes the named lease unless any holder's lease, this instance's included, is still running.
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        UUID id = idOf(name);
+        try {
+            return shardRouter.on(0, () -> transactionTemplate().execute(status -> {
+                long now = System.currentTimeMillis();
+                JobLock lock = jobLockRepository.findForUpdateById(id).orElse(null);
+                if (lock != null && lock.getLockedUntil() > now) {
+                    return false;
+                }
+
+                if (lock == null) {
+                    lock = new JobLock(id, name, owner, 0L);
+                }
+                lock.setOwner(owner);
+                lock.setLockedUntil(now + lease.toMillis());
+                jobLockRepository.saveAndFlush(lock);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the first lock row of this job at the same time, and holds it.
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        UUID id = idOf(name);
+        shardRouter.on(0, () -> transactionTemplate().execute(status -> {
+            jobLockRepository.findForUpdateById(id)
+                    .filter(lock -> lock.getOwner().equals(owner))
+                    .ifPresent(lock -> {
+                        lock.setLockedUntil(0L);
+                        jobLockRepository.save(lock);
+                    });
+            return null;
+        }));
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
+    private static UUID idOf(String name) {
+        return UUID.nameUUIDFromBytes(("job:" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
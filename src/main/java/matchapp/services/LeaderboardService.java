@@ -0,0 +1,363 @@
+package matchapp.services;
+
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.errors.DomainError;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TeamSavedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.models.LeaderboardResponse;
+import matchapp.pooling.WorkloadContext;
+import matchapp.repositories.MatchRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cross-tournament standings. Every team that has played a scored match has one row of totals, held in one
+ * {@link RankedTree} per metric, so a new result re-ranks both teams and a top-K or rank-of-team read costs
+ * O(K + log n) instead of a GROUP BY over every match. A rebuild replays all scored matches, archived ones included.
+ */
+@Service
+public class LeaderboardService implements Snapshottable {
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Value("${matchapp.leaderboard.default-results:10}")
+    private int defaultResults;
+
+    @Value("${matchapp.leaderboard.max-results:100}")
+    private int maxResults;
+
+    @Value("${matchapp.leaderboard.win-rate-min-played:5}")
+    private int winRateMinPlayed;
+
+    private Board board = new Board();
+
+    private final Object rebuildLock = new Object();
+
+    private List<Match> pending;
+
+    private volatile boolean restored;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        synchronized (rebuildLock) {
+            if (!restored) {
+                replayAll();
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            return replayAll();
+        }
+    }
+
+    private int replayAll() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        List<Match> matches = WorkloadContext.bulk(() -> shardRouter.scatter(matchRepository::findByHomeScoreNotNullAndAwayScoreNotNullOrderByDateTime));
+        matches.addAll(archiveService.findScoredMatches());
+
+        Board rebuilt = new Board();
+        matches.forEach(rebuilt::apply);
+
+        synchronized (this) {
+            Set<UUID> replayed = matches.stream().map(Match::getId).collect(Collectors.toSet());
+            for (Match match : pending) {
+                if (!replayed.contains(match.getId())) {
+                    rebuilt.apply(match);
+                }
+            }
+            pending = null;
+            board = rebuilt;
+        }
+        return matches.size();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onMatchSaved(MatchSavedEvent event) {
+        Match match = event.getMatch();
+        if (match.getHomeScore() == null || match.getAwayScore() == null) {
+            return;
+        }
+
+        if (pending != null) {
+            pending.add(match);
+        }
+        board.apply(match);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onTeamSaved(TeamSavedEvent event) {
+        Team team = event.getTeam();
+        board.rename(team.getId(), team.getName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTournamentDeleted(TournamentDeletedEvent event) {
+        if (pending != null) {
+            pending.removeIf(match -> match.getTournament().getId().equals(event.getTournament()));
+        }
+        event.getTeams().forEach(board::remove);
+    }
+
+    @Override
+    public String snapshotName() {
+        return "leaderboard";
+    }
+
+    @Override
+    public synchronized void writeSnapshot(DataOutput out) throws IOException {
+        Collection<Standing> standings = board.standings.values();
+        out.writeInt(standings.size());
+        for (Standing standing : standings) {
+            Snapshottable.writeId(out, standing.team);
+            Snapshottable.writeId(out, standing.tournament);
+            out.writeUTF(standing.name == null ? "" : standing.name);
+            out.writeInt(standing.played);
+            out.writeInt(standing.wins);
+            out.writeInt(standing.draws);
+            out.writeInt(standing.goalsFor);
+            out.writeInt(standing.goalsAgainst);
+        }
+    }
+
+    @Override
+    public synchronized void readSnapshot(DataInput in) throws IOException {
+        Board restoredBoard = new Board();
+        for (int i = in.readInt(); i > 0; i--) {
+            UUID team = Snapshottable.readId(in);
+            UUID tournament = Snapshottable.readId(in);
+            String name = in.readUTF();
+            restoredBoard.put(null, new Standing(team, tournament, name.isEmpty() ? null : name,
+                    in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+        }
+        board = restoredBoard;
+        restored = true;
+    }
+
+    public synchronized List<LeaderboardResponse> findTop(String metric, Integer limit) {
+        Metric order = Metric.of(metric);
+        int size = limit == null ? defaultResults : limit;
+        if (size < 1 || size > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxResults + ".");
+        }
+
+        List<Standing> top = board.trees.get(order).first(size);
+        List<LeaderboardResponse> responses = new ArrayList<>(top.size());
+        for (Standing standing : top) {
+            responses.add(toResponse(standing, responses.size() + 1));
+        }
+        return responses;
+    }
+
+    /**
+     * The team's totals and its rank by the metric. The rank is null if the team has not played enough matches to be
+     * ranked by win rate.
+     */
+    public synchronized LeaderboardResponse findByTeam(UUID team, String metric) {
+        Metric order = Metric.of(metric);
+        Standing standing = board.standings.get(team);
+        if (standing == null) {
+            throw DomainError.TEAM_NOT_IN_LEADERBOARD.exception();
+        }
+
+        int rank = board.trees.get(order).rank(standing);
+        return toResponse(standing, rank < 0 ? null : rank + 1);
+    }
+
+    private LeaderboardResponse toResponse(Standing standing, Integer rank) {
+        LeaderboardResponse response = new LeaderboardResponse();
+        response.setRank(rank);
+        response.setTeam(standing.team);
+        response.setTournament(standing.tournament);
+        response.setName(standing.name);
+        response.setPlayed(standing.played);
+        response.setWins(standing.wins);
+        response.setDraws(standing.draws);
+        response.setLosses(standing.played - standing.wins - standing.draws);
+        response.setGoalsFor(standing.goalsFor);
+        response.setGoalsAgainst(standing.goalsAgainst);
+        response.setGoalDifference(standing.goalDifference());
+        response.setPoints(standing.points());
+        response.setWinRate(standing.winRate());
+        return response;
+    }
+
+    private enum Metric {
+
+        POINTS("points", Comparator.comparingInt(Standing::points).reversed()
+                .thenComparing(Comparator.comparingInt(Standing::goalDifference).reversed())
+                .thenComparing(Comparator.comparingInt((Standing standing) -> standing.goalsFor).reversed())),
+        GOAL_DIFFERENCE("goal-difference", Comparator.comparingInt(Standing::goalDifference).reversed()
+                .thenComparing(Comparator.comparingInt((Standing standing) -> standing.goalsFor).reversed())
+                .thenComparing(Comparator.comparingInt(Standing::points).reversed())),
+        WIN_RATE("win-rate", Comparator.comparingDouble(Standing::winRate).reversed()
+                .thenComparing(Comparator.comparingInt((Standing standing) -> standing.played).reversed())
+                .thenComparing(Comparator.comparingInt(Standing::goalDifference).reversed()));
+
+        private final String key;
+
+        private final Comparator<Standing> order;
+
+        Metric(String key, Comparator<Standing> order) {
+            this.key = key;
+            this.order = order.thenComparing(standing -> standing.team);
+        }
+
+        private static Metric of(String key) {
+            if (key == null) {
+                return POINTS;
+            }
+            for (Metric metric : values()) {
+                if (metric.key.equals(key)) {
+                    return metric;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Metric must be one of points, goal-difference, win-rate.");
+        }
+
+    }
+
+    /**
+     * The standings by team and ranked by each metric. Standings are immutable, so a change is a remove of the old one
+     * and an add of the new one in every tree.
+     */
+    private class Board {
+
+        private final Map<UUID, Standing> standings = new HashMap<>();
+
+        private final Map<Metric, RankedTree<Standing>> trees = new EnumMap<>(Metric.class);
+
+        private Board() {
+            for (Metric metric : Metric.values()) {
+                trees.put(metric, new RankedTree<>(metric.order));
+            }
+        }
+
+        private void apply(Match match) {
+            Team home = match.getHome();
+            Team away = match.getAway();
+            UUID tournament = match.getTournament().getId();
+            record(home.getId(), tournament, home.getName(), match.getHomeScore(), match.getAwayScore());
+            record(away.getId(), tournament, away.getName(), match.getAwayScore(), match.getHomeScore());
+        }
+
+        private void record(UUID team, UUID tournament, String name, int scored, int conceded) {
+            Standing previous = standings.get(team);
+            Standing standing = previous == null
+                    ? new Standing(team, tournament, name, 0, 0, 0, 0, 0).plus(name, scored, conceded)
+                    : previous.plus(name, scored, conceded);
+            put(previous, standing);
+        }
+
+        private void rename(UUID team, String name) {
+            Standing previous = standings.get(team);
+            if (previous != null && !Objects.equals(previous.name, name)) {
+                put(previous, previous.plus(name, null, null));
+            }
+        }
+
+        private void remove(UUID team) {
+            Standing previous = standings.remove(team);
+            if (previous != null) {
+                trees.values().forEach(tree -> tree.remove(previous));
+            }
+        }
+
+        private void put(Standing previous, Standing standing) {
+            if (previous != null) {
+                trees.values().forEach(tree -> tree.remove(previous));
+            }
+            standings.put(standing.team, standing);
+            trees.forEach((metric, tree) -> {
+                if (metric != Metric.WIN_RATE || standing.played >= winRateMinPlayed) {
+                    tree.add(standing);
+                }
+            });
+        }
+
+    }
+
+    private static final class Standing {
+
+        private final UUID team;
+
+        private final UUID tournament;
+
+        private final String name;
+
+        private final int played;
+
+        private final int wins;
+
+        private final int draws;
+
+        private final int goalsFor;
+
+        private final int goalsAgainst;
+
+        private Standing(UUID team, UUID tournament, String name, int played, int wins, int draws, int goalsFor, int goalsAgainst) {
+            this.team = team;
+            this.tournament = tournament;
+            this.name = name;
+            this.played = played;
+            this.wins = wins;
+            this.draws = draws;
+            this.goalsFor = goalsFor;
+            this.goalsAgainst = goalsAgainst;
+        }
+
+        /**
+         * This standing under the given name, with one more result if the scores are given.
+         */
+        private Standing plus(String name, Integer scored, Integer conceded) {
+            if (scored == null || conceded == null) {
+                return new Standing(team, tournament, name, played, wins, draws, goalsFor, goalsAgainst);
+            }
+            return new Standing(team, tournament, name, played + 1,
+                    wins + (scored > conceded ? 1 : 0), draws + (scored.equals(conceded) ? 1 : 0),
+                    goalsFor + scored, goalsAgainst + conceded);
+        }
+
+        private int points() {
+            return 3 * wins + draws;
+        }
+
+        private int goalDifference() {
+            return goalsFor - goalsAgainst;
+        }
+
+        private double winRate() {
+            return played == 0 ? 0.0 : (double) wins / played;
+        }
+
+    }
+
+}
@@ -0,0 +1,274 @@
+package matchapp.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import matchapp.entities.Match;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TeamSavedEvent;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.events.TournamentSavedEvent;
+import matchapp.models.EventLogStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of committed match writes, with a short record for every other committed team or tournament write so
+ * that a replay sees this instance's writes of every kind in order. Records are {@link MatchEventRecord#SIZE} bytes and
+ * go into memory-mapped segment files of a fixed number of records, named after their first sequence number; a full
+ * segment is forced to disk and a new one is started. On start the last segment is scanned up to its first record with
+ * a bad checksum, which is where appending resumes. Segments of the earlier, {@link MatchEventRecord#LEGACY_SIZE}-byte
+ * format keep their own suffix and are still replayed, but appending always continues in a new segment.
+ */
+@Service
+public class MatchEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchEventLog.class);
+
+    private static final String SUFFIX = ".log";
+
+    private static final String LEGACY_SUFFIX = ".seg";
+
+    @Value("${matchapp.event-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matchapp.event-log.directory:data/event-log}")
+    private Path directory;
+
+    @Value("${matchapp.event-log.segment-records:1048576}")
+    private int segmentRecords;
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    private final CRC32C crc = new CRC32C();
+
+    private MappedByteBuffer active;
+
+    private volatile long lastSequence;
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(Segment::of)
+                    .filter(Objects::nonNull)
+                    .sorted((a, b) -> Long.compare(a.first, b.first))
+                    .forEach(segments::add);
+        }
+
+        if (segments.isEmpty()) {
+            roll(1);
+            return;
+        }
+
+        Segment last = segments.get(segments.size() - 1);
+        MappedByteBuffer buffer = map(last.file, last.legacy ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE);
+        int records = 0;
+        while ((records + 1) * last.size() <= buffer.capacity() && MatchEventRecord.valid(buffer, records * last.size(), last.legacy, crc)
+                && buffer.getLong(records * last.size()) == last.first + records) {
+            records++;
+        }
+        last.records = records;
+        lastSequence = last.first + records - 1;
+        if (last.legacy) {
+            roll(lastSequence + 1);
+        } else {
+            active = buffer;
+        }
+        log.info("Opened match event log at {} with {} segments, last sequence {}", directory, segments.size(), lastSequence);
+    }
+
+    @TransactionalEventListener
+    public void onMatchSaved(MatchSavedEvent event) {
+        if (enabled) {
+            append(event.getMatch(), null, null, null);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTeamSaved(TeamSavedEvent event) {
+        if (enabled) {
+            append(null, MatchEventRecord.Kind.TEAM, event.getTeam().getId(), event.getTeam().getTournament().getId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTournamentSaved(TournamentSavedEvent event) {
+        if (enabled) {
+            append(null, MatchEventRecord.Kind.TOURNAMENT, event.getTournament().getId(), event.getTournament().getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentDeleted(TournamentDeletedEvent event) {
+        if (enabled) {
+            append(null, MatchEventRecord.Kind.TOURNAMENT_DELETED, event.getTournament(), event.getTournament());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTournamentArchived(TournamentArchivedEvent event) {
+        if (enabled) {
+            append(null, MatchEventRecord.Kind.TOURNAMENT_ARCHIVED, event.getTournament(), event.getTournament());
+        }
+    }
+
+    /**
+     * Appends a match write, or another kind of write when {@code match} is null.
+     */
+    private synchronized void append(Match match, MatchEventRecord.Kind kind, UUID subject, UUID tournament) {
+        Segment segment = segments.get(segments.size() - 1);
+        if (segment.records == segmentRecords) {
+            active.force();
+            roll(lastSequence + 1);
+            segment = segments.get(segments.size() - 1);
+        }
+
+        long sequence = lastSequence + 1;
+        int offset = segment.records * MatchEventRecord.SIZE;
+        if (match != null) {
+            MatchEventRecord.write(active, offset, sequence, System.currentTimeMillis(), match, crc);
+        } else {
+            MatchEventRecord.write(active, offset, sequence, System.currentTimeMillis(), kind, subject, tournament, crc);
+        }
+        segment.records++;
+        lastSequence = sequence;
+    }
+
+    @Scheduled(fixedDelayString = "${matchapp.event-log.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (active != null) {
+            active.force();
+        }
+    }
+
+    /**
+     * Streams every record from {@code fromSequence} up to the last record appended when the replay started, and
+     * returns the number of records passed to the consumer. Segments are read through their own read-only mappings,
+     * so appends carry on while a replay runs.
+     */
+    public long replay(long fromSequence, Consumer<MatchEventRecord> consumer) {
+        List<Segment> snapshot;
+        long until;
+        synchronized (this) {
+            snapshot = segments.stream().map(segment -> new Segment(segment.file, segment.first, segment.legacy)).toList();
+            until = lastSequence;
+        }
+
+        MatchEventRecord record = new MatchEventRecord();
+        CRC32C checksum = new CRC32C();
+        long replayed = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            Segment segment = snapshot.get(i);
+            long next = i + 1 < snapshot.size() ? snapshot.get(i + 1).first : until + 1;
+            if (next <= fromSequence || segment.first > until) {
+                continue;
+            }
+
+            MappedByteBuffer buffer = map(segment.file, FileChannel.MapMode.READ_ONLY);
+            long start = Math.max(fromSequence, segment.first);
+            long end = Math.min(next - 1, until);
+            for (long sequence = start; sequence <= end; sequence++) {
+                int offset = (int) (sequence - segment.first) * segment.size();
+                if (!MatchEventRecord.valid(buffer, offset, segment.legacy, checksum)) {
+                    log.warn("Match event log record {} in {} is corrupt, skipping rest of segment", sequence, segment.file);
+                    break;
+                }
+                record.wrap(buffer, offset, segment.legacy);
+                consumer.accept(record);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    public synchronized EventLogStatsResponse stats() {
+        EventLogStatsResponse response = new EventLogStatsResponse();
+        response.setEnabled(enabled);
+        response.setSegments(segments.size());
+        response.setFirstSequence(segments.isEmpty() ? 0 : segments.get(0).first);
+        response.setLastSequence(lastSequence);
+        response.setBytes(segments.stream().mapToLong(segment -> (long) segment.records * segment.size()).sum());
+        return response;
+    }
+
+    private void roll(long first) {
+        Path file = directory.resolve(String.format("%020d%s", first, SUFFIX));
+        active = map(file, FileChannel.MapMode.READ_WRITE);
+        segments.add(new Segment(file, first, false));
+        lastSequence = first - 1;
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            long size = mode == FileChannel.MapMode.READ_ONLY ? channel.size() : (long) segmentRecords * MatchEventRecord.SIZE;
+            return channel.map(mode, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Segment {
+
+        private final Path file;
+
+        private final long first;
+
+        private final boolean legacy;
+
+        private int records;
+
+        private Segment(Path file, long first, boolean legacy) {
+            this.file = file;
+            this.first = first;
+            this.legacy = legacy;
+        }
+
+        /**
+         * The segment stored in the file, or null if the file is not a segment.
+         */
+        private static Segment of(Path file) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(SUFFIX)) {
+                return new Segment(file, Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), false);
+            }
+            if (name.endsWith(LEGACY_SUFFIX)) {
+                return new Segment(file, Long.parseLong(name.substring(0, name.length() - LEGACY_SUFFIX.length())), true);
+            }
+            return null;
+        }
+
+        private int size() {
+            return legacy ? MatchEventRecord.LEGACY_SIZE : MatchEventRecord.SIZE;
+        }
+
+    }
+
+}
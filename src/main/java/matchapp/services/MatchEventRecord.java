@@ -0,0 +1,156 @@
+package matchapp.services;
+
+import matchapp.entities.Match;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size record of the match event log. During a replay a single instance is re-pointed at each record in
+ * turn, so consumers must copy out anything they keep. Scores are stored as -1 while a match has no result.
+ * <pre>
+ *  0 sequence     8 recorded at    16 match id    32 tournament id    48 home id    64 away id
+ * 80 date time (epoch seconds)      88 home score  90 away score      92 kind       96 CRC32C of bytes 0-95
+ * </pre>
+ * Writes other than match writes store the team or tournament id at 16 and the tournament id at 32; their other fields
+ * are zero and their scores -1. Records are padded to {@link #SIZE} bytes so that every record's longs stay aligned.
+ * <p>
+ * Segments written before the kind field existed hold {@link #LEGACY_SIZE}-byte records with the checksum at 92, and
+ * mark writes other than match writes with a home score of -2 and the kind in the away score. They are still read.
+ */
+public class MatchEventRecord {
+
+    public static final int SIZE = 104;
+
+    public static final int LEGACY_SIZE = 96;
+
+    private static final int KIND = 92;
+
+    private static final int CHECKSUM = 96;
+
+    private static final int LEGACY_CHECKSUM = 92;
+
+    private static final short LEGACY_OTHER = -2;
+
+    public enum Kind {
+        MATCH, TEAM, TOURNAMENT, TOURNAMENT_DELETED, TOURNAMENT_ARCHIVED
+    }
+
+    private ByteBuffer buffer;
+
+    private int offset;
+
+    private boolean legacy;
+
+    static void write(ByteBuffer buffer, int offset, long sequence, long recordedAt, Match match, CRC32C crc) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, recordedAt);
+        putId(buffer, offset + 16, match.getId());
+        putId(buffer, offset + 32, match.getTournament().getId());
+        putId(buffer, offset + 48, match.getHome().getId());
+        putId(buffer, offset + 64, match.getAway().getId());
+        buffer.putLong(offset + 80, match.getDateTime().toEpochSecond(ZoneOffset.UTC));
+        buffer.putShort(offset + 88, (short) (match.getHomeScore() == null ? -1 : match.getHomeScore()));
+        buffer.putShort(offset + 90, (short) (match.getAwayScore() == null ? -1 : match.getAwayScore()));
+        buffer.putInt(offset + KIND, Kind.MATCH.ordinal());
+        buffer.putInt(offset + CHECKSUM, checksum(buffer, offset, CHECKSUM, crc));
+    }
+
+    static void write(ByteBuffer buffer, int offset, long sequence, long recordedAt, Kind kind, UUID subject, UUID tournament, CRC32C crc) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, recordedAt);
+        putId(buffer, offset + 16, subject);
+        putId(buffer, offset + 32, tournament);
+        putId(buffer, offset + 48, new UUID(0, 0));
+        putId(buffer, offset + 64, new UUID(0, 0));
+        buffer.putLong(offset + 80, 0);
+        buffer.putShort(offset + 88, (short) -1);
+        buffer.putShort(offset + 90, (short) -1);
+        buffer.putInt(offset + KIND, kind.ordinal());
+        buffer.putInt(offset + CHECKSUM, checksum(buffer, offset, CHECKSUM, crc));
+    }
+
+    static boolean valid(ByteBuffer buffer, int offset, boolean legacy, CRC32C crc) {
+        int checksum = legacy ? LEGACY_CHECKSUM : CHECKSUM;
+        return buffer.getLong(offset) != 0 && buffer.getInt(offset + checksum) == checksum(buffer, offset, checksum, crc);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int checksum, CRC32C crc) {
+        crc.reset();
+        int position = buffer.position();
+        int limit = buffer.limit();
+        buffer.limit(offset + checksum).position(offset);
+        crc.update(buffer);
+        buffer.limit(limit).position(position);
+        return (int) crc.getValue();
+    }
+
+    private static void putId(ByteBuffer buffer, int offset, UUID id) {
+        buffer.putLong(offset, id.getMostSignificantBits());
+        buffer.putLong(offset + 8, id.getLeastSignificantBits());
+    }
+
+    void wrap(ByteBuffer buffer, int offset, boolean legacy) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.legacy = legacy;
+    }
+
+    public long getSequence() {
+        return buffer.getLong(offset);
+    }
+
+    public long getRecordedAt() {
+        return buffer.getLong(offset + 8);
+    }
+
+    public Kind getKind() {
+        if (legacy) {
+            return buffer.getShort(offset + 88) == LEGACY_OTHER ? Kind.values()[buffer.getShort(offset + 90)] : Kind.MATCH;
+        }
+        return Kind.values()[buffer.getInt(offset + KIND)];
+    }
+
+    /**
+     * The match id of a match write, or the team or tournament id of any other write.
+     */
+    public UUID getMatchId() {
+        return id(16);
+    }
+
+    public UUID getTournamentId() {
+        return id(32);
+    }
+
+    public UUID getHomeId() {
+        return id(48);
+    }
+
+    public UUID getAwayId() {
+        return id(64);
+    }
+
+    public LocalDateTime getDateTime() {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(offset + 80), 0, ZoneOffset.UTC);
+    }
+
+    public boolean hasResult() {
+        return getKind() == Kind.MATCH && buffer.getShort(offset + 88) >= 0 && buffer.getShort(offset + 90) >= 0;
+    }
+
+    public int getHomeScore() {
+        return buffer.getShort(offset + 88);
+    }
+
+    public int getAwayScore() {
+        return buffer.getShort(offset + 90);
+    }
+
+    private UUID id(int field) {
+        return new UUID(buffer.getLong(offset + field), buffer.getLong(offset + field + 8));
+    }
+
+}
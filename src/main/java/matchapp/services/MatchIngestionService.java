@@ -0,0 +1,283 @@
+package matchapp.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolationException;
+import matchapp.errors.DomainError;
+import matchapp.models.MatchIngestionResponse;
+import matchapp.models.MatchIngestionStatsResponse;
+import matchapp.models.MatchRequest;
+import matchapp.pooling.WorkloadContext;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind ingestion of match results. Requests are validated up front, parked in a bounded queue and
+ * inserted by a pool of writers, one transaction per drained batch. When a batch cannot be committed as a
+ * whole, its requests are retried one transaction each so a single bad row does not fail its neighbours.
+ */
+@Service
+public class MatchIngestionService {
+
+    public static final String QUEUED = "queued";
+
+    public static final String CREATED = "created";
+
+    public static final String FAILED = "failed";
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${matchapp.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${matchapp.ingest.writers:4}")
+    private int writers;
+
+    @Value("${matchapp.ingest.batch-size:100}")
+    private int batchSize;
+
+    @Value("${matchapp.ingest.retained-statuses:100000}")
+    private int retainedStatuses;
+
+    private final Map<UUID, Ingestion> ingestions = new ConcurrentHashMap<>();
+
+    private final Queue<UUID> completed = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger completedCount = new AtomicInteger();
+
+    private final AtomicLong accepted = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong created = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private BlockingQueue<Ingestion> queue;
+
+    private ExecutorService executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "match-ingest-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writers; i++) {
+            executor.execute(() -> WorkloadContext.bulk(() -> {
+                drain();
+                return null;
+            }));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    public MatchIngestionResponse submit(MatchRequest request) {
+        validationService.validate(request);
+
+        Ingestion ingestion = new Ingestion(UUID.randomUUID(), request);
+        ingestions.put(ingestion.id, ingestion);
+
+        if (!queue.offer(ingestion)) {
+            ingestions.remove(ingestion.id);
+            rejected.incrementAndGet();
+            throw DomainError.INGESTION_QUEUE_FULL.exception();
+        }
+
+        accepted.incrementAndGet();
+        return ingestion.toResponse();
+    }
+
+    public MatchIngestionResponse findById(UUID id) {
+        Ingestion ingestion = ingestions.get(id);
+        if (ingestion == null) {
+            throw DomainError.INGESTION_NOT_FOUND.exception();
+        }
+
+        return ingestion.toResponse();
+    }
+
+    public MatchIngestionStatsResponse stats() {
+        Ingestion oldest = queue.peek();
+
+        MatchIngestionStatsResponse response = new MatchIngestionStatsResponse();
+        response.setDepth(queue.size());
+        response.setCapacity(queueCapacity);
+        response.setLagMillis(oldest == null ? 0L : Math.max(0L, System.currentTimeMillis() - oldest.submittedAt));
+        response.setAccepted(accepted.get());
+        response.setRejected(rejected.get());
+        response.setCreated(created.get());
+        response.setFailed(failed.get());
+
+        return response;
+    }
+
+    private void drain() {
+        List<Ingestion> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Ingestion first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Ingestion> batch) {
+        if (shardRouter.count() == 1) {
+            writeShard(batch);
+            return;
+        }
+
+        batch.stream()
+                .collect(Collectors.groupingBy(ingestion -> shardRouter.shardOf(ingestion.request.getTournament())))
+                .values()
+                .forEach(this::writeShard);
+    }
+
+    private void writeShard(List<Ingestion> batch) {
+        try {
+            complete(batch, transactionTemplate.execute(status -> insert(batch)));
+        } catch (RuntimeException batchException) {
+            for (Ingestion ingestion : batch) {
+                List<Ingestion> single = List.of(ingestion);
+                try {
+                    complete(single, transactionTemplate.execute(status -> insert(single)));
+                } catch (RuntimeException exception) {
+                    complete(single, Map.of(ingestion, "Match could not be saved."));
+                }
+            }
+        }
+    }
+
+    private Map<Ingestion, String> insert(List<Ingestion> batch) {
+        Map<Ingestion, String> failures = new HashMap<>();
+        for (Ingestion ingestion : batch) {
+            try {
+                matchService.save(matchService.prepare(ingestion.request));
+            } catch (ResponseStatusException exception) {
+                failures.put(ingestion, exception.getReason());
+            } catch (ConstraintViolationException exception) {
+                failures.put(ingestion, exception.getMessage());
+            }
+        }
+
+        return failures;
+    }
+
+    private void complete(List<Ingestion> batch, Map<Ingestion, String> failures) {
+        for (Ingestion ingestion : batch) {
+            String message = failures.get(ingestion);
+            if (failures.containsKey(ingestion)) {
+                failed.incrementAndGet();
+                ingestion.complete(FAILED, message);
+            } else {
+                created.incrementAndGet();
+                ingestion.complete(CREATED, null);
+            }
+
+            completed.add(ingestion.id);
+            if (completedCount.incrementAndGet() > retainedStatuses) {
+                UUID evicted = completed.poll();
+                if (evicted != null) {
+                    completedCount.decrementAndGet();
+                    ingestions.remove(evicted);
+                }
+            }
+        }
+    }
+
+    private static class Ingestion {
+
+        private final UUID id;
+
+        private final MatchRequest request;
+
+        private final long submittedAt = System.currentTimeMillis();
+
+        private volatile long completedAt;
+
+        private volatile String status = QUEUED;
+
+        private volatile String message;
+
+        private Ingestion(UUID id, MatchRequest request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        private void complete(String status, String message) {
+            this.message = message;
+            this.completedAt = System.currentTimeMillis();
+            this.status = status;
+        }
+
+        private MatchIngestionResponse toResponse() {
+            MatchIngestionResponse response = new MatchIngestionResponse();
+            response.setId(id);
+            response.setStatus(status);
+            response.setMessage(message);
+            response.setSubmittedAt(toDateTime(submittedAt));
+            response.setCompletedAt(completedAt == 0L ? null : toDateTime(completedAt));
+            return response;
+        }
+
+        private static LocalDateTime toDateTime(long epochMillis) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        }
+
+    }
+
+}
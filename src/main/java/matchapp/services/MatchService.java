@@ -3,48 +3,108 @@ package matchapp.services;
 import matchapp.entities.Match;
 import matchapp.entities.Team;
 import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.events.MatchSavedEvent;
 import matchapp.models.MatchRequest;
+import matchapp.models.MatchResultRequest;
+import matchapp.repositories.MatchAdmission;
 import matchapp.repositories.MatchRepository;
-import matchapp.repositories.TeamRepository;
-import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 @Service
 public class MatchService {
 
     @Autowired
-    private TournamentRepository tournamentRepository;
+    private MatchRepository matchRepository;
 
     @Autowired
-    private TeamRepository teamRepository;
+    private ValidationService validationService;
 
     @Autowired
-    private MatchRepository matchRepository;
+    private TeamScheduleService teamScheduleService;
 
     @Autowired
-    private ValidationService validationService;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
 
     @Transactional
     public void create(MatchRequest request) {
+        save(prepare(request));
+    }
+
+    @Transactional
+    public void recordResult(UUID id, MatchResultRequest request) {
         validationService.validate(request);
+        shardRouter.route(id);
+
+        // Locked so that of two concurrent results only one passes the check below.
+        Match match = matchRepository.findForUpdateById(id)
+                .orElseThrow(DomainError.MATCH_NOT_FOUND::exception);
+
+        if (match.getHomeScore() != null || match.getAwayScore() != null) {
+            throw DomainError.MATCH_RESULT_RECORDED.exception();
+        }
 
-        Tournament tournament = tournamentRepository.findById(request.getTournament())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tournament not found."));
+        match.setHomeScore(request.getHomeScore());
+        match.setAwayScore(request.getAwayScore());
 
-        Team home = teamRepository.findById(request.getHome())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Home team not found."));
+        save(match);
+    }
 
-        Team away = teamRepository.findById(request.getAway())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Away team not found."));
+    public Match schedule(Tournament tournament, Team home, Team away, LocalDateTime dateTime) {
+        teamScheduleService.reserve(home, away, dateTime);
 
-        if (!tournament.getIsFull() && (matchRepository.existsByHomeAndAway(home, away) || matchRepository.existsByHomeAndAway(away, home))) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Match already exists.");
-        } else if (tournament.getIsFull() && matchRepository.existsByHomeAndAway(home, away)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Match already exists.");
+        Match match = new Match();
+        match.setTournament(tournament);
+        match.setDateTime(dateTime);
+        match.setHome(home);
+        match.setAway(away);
+
+        return save(match);
+    }
+
+    public Match save(Match match) {
+        shardRouter.route(match.getTournament().getId());
+        Match saved = matchRepository.save(match);
+        eventPublisher.publishEvent(new MatchSavedEvent(saved));
+        return saved;
+    }
+
+    public Match prepare(MatchRequest request) {
+        validationService.validate(request);
+        shardRouter.route(request.getTournament());
+
+        MatchAdmission admission = matchRepository.findAdmission(request.getTournament(), request.getHome(), request.getAway())
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+        Tournament tournament = admission.tournament();
+
+        Team home = admission.home();
+        if (home == null) {
+            throw DomainError.HOME_TEAM_NOT_FOUND.exception();
+        } else if (!home.getTournament().getId().equals(tournament.getId())) {
+            throw DomainError.HOME_TEAM_NOT_IN_TOURNAMENT.exception();
+        }
+
+        Team away = admission.away();
+        if (away == null) {
+            throw DomainError.AWAY_TEAM_NOT_FOUND.exception();
+        } else if (!away.getTournament().getId().equals(tournament.getId())) {
+            throw DomainError.AWAY_TEAM_NOT_IN_TOURNAMENT.exception();
+        }
+
+        if (admission.homeAwayExists() || (!tournament.getIsFull() && admission.awayHomeExists())) {
+            throw DomainError.MATCH_EXISTS.exception();
         }
 
         if (request.getDateTime().isBefore(tournament.getStartDate().atStartOfDay())) {
@@ -53,6 +113,8 @@ public class MatchService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Match date and time must be before tournament end date.");
         }
 
+        teamScheduleService.reserve(home, away, request.getDateTime());
+
         Match match = new Match();
         match.setTournament(tournament);
         match.setDateTime(request.getDateTime());
@@ -61,7 +123,7 @@ public class MatchService {
         match.setHomeScore(request.getHomeScore());
         match.setAwayScore(request.getAwayScore());
 
-        matchRepository.save(match);
+        return match;
     }
 
 }
@@ -0,0 +1,148 @@
+package matchapp.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A treap kept in comparator order whose nodes also count their subtree, so adding, removing, finding the rank of an
+ * element and reading the first k elements all take expected logarithmic time (plus k for the read). The comparator
+ * must be a total order over the elements held. Not thread-safe.
+ */
+final class RankedTree<T> {
+
+    private final Comparator<? super T> comparator;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node<T> root;
+
+    RankedTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    void add(T value) {
+        Split<T> parts = split(root, value, false);
+        root = merge(merge(parts.before(), new Node<>(value, random.nextInt())), parts.rest());
+    }
+
+    boolean remove(T value) {
+        Split<T> below = split(root, value, false);
+        Split<T> equal = split(below.rest(), value, true);
+        root = merge(below.before(), equal.rest());
+        return equal.before() != null;
+    }
+
+    /**
+     * The zero-based position of the value, or -1 if it is not held.
+     */
+    int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(value, node.value);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                rank += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + sizeOf(node.left);
+            }
+        }
+        return -1;
+    }
+
+    List<T> first(int count) {
+        List<T> first = new ArrayList<>(Math.min(count, size()));
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        while (first.size() < count && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            first.add(node.value);
+            node = node.right;
+        }
+        return first;
+    }
+
+    /**
+     * Splits into the nodes ordered before the value and the rest; with {@code inclusive}, the value itself goes to the
+     * first part.
+     */
+    private Split<T> split(Node<T> node, T value, boolean inclusive) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+
+        int comparison = comparator.compare(node.value, value);
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            Split<T> parts = split(node.right, value, inclusive);
+            node.right = parts.before();
+            node.resize();
+            return new Split<>(node, parts.rest());
+        }
+
+        Split<T> parts = split(node.left, value, inclusive);
+        node.left = parts.rest();
+        node.resize();
+        return new Split<>(parts.before(), node);
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        } else if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.resize();
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        right.resize();
+        return right;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private record Split<T>(Node<T> before, Node<T> rest) {
+    }
+
+    private static class Node<T> {
+
+        private final T value;
+
+        private final int priority;
+
+        private Node<T> left;
+
+        private Node<T> right;
+
+        private int size = 1;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void resize() {
+            size = sizeOf(left) + sizeOf(right) + 1;
+        }
+
+    }
+
+}
@@ -0,0 +1,425 @@
+package matchapp.services;
+
+import matchapp.entities.Match;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.models.RatingResponse;
+import matchapp.repositories.MatchRepository;
+import matchapp.pooling.WorkloadContext;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Elo-style team strength. Every scored match moves both teams' ratings in O(log n), keeping them ranked overall and
+ * within their tournament; a rebuild replays all scored matches in date and time order. Teams never play outside their
+ * tournament, so tournaments are replayed independently on a fork-join pool and merged.
+ */
+@Service
+public class RatingService implements Snapshottable {
+
+    private static final Comparator<Rating> BY_RATING = Comparator.comparingDouble((Rating rating) -> rating.rating).reversed()
+            .thenComparing(rating -> rating.team);
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchEventLog matchEventLog;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Value("${matchapp.rating.initial:1500}")
+    private double initialRating;
+
+    @Value("${matchapp.rating.k-factor:32}")
+    private double kFactor;
+
+    @Value("${matchapp.rating.home-advantage:0}")
+    private double homeAdvantage;
+
+    @Value("${matchapp.rating.parallelism:0}")
+    private int parallelism;
+
+    @Value("${matchapp.rating.default-results:50}")
+    private int defaultResults;
+
+    @Value("${matchapp.rating.max-results:400}")
+    private int maxResults;
+
+    private volatile Table ratings = new Table(new ConcurrentHashMap<>());
+
+    private final Object rebuildLock = new Object();
+
+    private List<Match> pending;
+
+    private Set<UUID> deletedTeams;
+
+    private volatile boolean restored;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        synchronized (rebuildLock) {
+            if (!restored) {
+                replayAll();
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            return replayAll();
+        }
+    }
+
+    private int replayAll() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+            deletedTeams = new HashSet<>();
+        }
+
+        List<Match> matches = WorkloadContext.bulk(() -> shardRouter.scatter(matchRepository::findByHomeScoreNotNullAndAwayScoreNotNullOrderByDateTime));
+        matches.addAll(archiveService.findScoredMatches());
+        List<Result> results = matches.stream().map(Result::new).toList();
+        install(results);
+        return results.size();
+    }
+
+    /**
+     * Rebuilds the table from the match event log instead of the database. The latest logged result of each match
+     * counts until its tournament's delete record; team names are carried over from the current table. Results of
+     * teams the current table does not know are dropped too, which covers deletes logged before delete records were.
+     */
+    public int rebuildFromLog() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+                deletedTeams = new HashSet<>();
+            }
+
+            Map<UUID, Result> latest = new HashMap<>();
+            matchEventLog.replay(1, record -> {
+                if (record.getKind() == MatchEventRecord.Kind.TOURNAMENT_DELETED) {
+                    UUID tournament = record.getTournamentId();
+                    latest.values().removeIf(result -> result.tournament.equals(tournament));
+                } else if (record.hasResult()) {
+                    latest.put(record.getMatchId(), new Result(record));
+                }
+            });
+
+            Map<UUID, Rating> current = ratings.teams;
+            List<Result> results = new ArrayList<>(latest.size());
+            for (Result result : latest.values()) {
+                result.homeName = nameOf(current, result.home);
+                result.awayName = nameOf(current, result.away);
+                if (result.homeName != null && result.awayName != null) {
+                    results.add(result);
+                }
+            }
+            results.sort(Comparator.comparing((Result result) -> result.dateTime));
+
+            install(results);
+            return results.size();
+        }
+    }
+
+    private void install(List<Result> results) {
+        Map<UUID, List<Result>> byTournament = results.stream()
+                .collect(Collectors.groupingBy(result -> result.tournament));
+
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        try {
+            Map<UUID, Rating> rebuilt = pool.submit(() -> byTournament.values().parallelStream()
+                    .map(this::replay)
+                    .flatMap(replayed -> replayed.entrySet().stream())
+                    .collect(Collectors.toConcurrentMap(Map.Entry::getKey, Map.Entry::getValue))).join();
+
+            Table table = new Table(rebuilt);
+            synchronized (this) {
+                Set<UUID> replayed = results.stream().map(result -> result.match).collect(Collectors.toSet());
+                for (Match match : pending) {
+                    if (!replayed.contains(match.getId())) {
+                        table.apply(new Result(match));
+                    }
+                }
+                deletedTeams.forEach(table::remove);
+                pending = null;
+                deletedTeams = null;
+                ratings = table;
+            }
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onMatchSaved(MatchSavedEvent event) {
+        Match match = event.getMatch();
+        if (match.getHomeScore() == null || match.getAwayScore() == null) {
+            return;
+        }
+
+        if (pending != null) {
+            pending.add(match);
+        }
+        ratings.apply(new Result(match));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTournamentDeleted(TournamentDeletedEvent event) {
+        if (pending != null) {
+            pending.removeIf(match -> match.getTournament().getId().equals(event.getTournament()));
+            deletedTeams.addAll(event.getTeams());
+        }
+        event.getTeams().forEach(ratings::remove);
+    }
+
+    @Override
+    public String snapshotName() {
+        return "ratings";
+    }
+
+    @Override
+    public synchronized void writeSnapshot(DataOutput out) throws IOException {
+        Collection<Rating> table = ratings.teams.values();
+        out.writeInt(table.size());
+        for (Rating rating : table) {
+            Snapshottable.writeId(out, rating.team);
+            Snapshottable.writeId(out, rating.tournament);
+            out.writeUTF(rating.name == null ? "" : rating.name);
+            out.writeDouble(rating.rating);
+            out.writeInt(rating.played);
+        }
+    }
+
+    @Override
+    public synchronized void readSnapshot(DataInput in) throws IOException {
+        int size = in.readInt();
+        Map<UUID, Rating> table = new ConcurrentHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            Rating rating = new Rating(Snapshottable.readId(in), Snapshottable.readId(in), in.readUTF(), in.readDouble());
+            rating.played = in.readInt();
+            table.put(rating.team, rating);
+        }
+        ratings = new Table(table);
+        restored = true;
+    }
+
+    public synchronized List<RatingResponse> findAll(UUID tournament, Integer limit) {
+        int size = limit == null ? defaultResults : limit;
+        if (size < 1 || size > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxResults + ".");
+        }
+
+        List<Rating> ranked = ratings.first(tournament, size);
+
+        List<RatingResponse> responses = new ArrayList<>(ranked.size());
+        for (Rating rating : ranked) {
+            RatingResponse response = new RatingResponse();
+            response.setRank(responses.size() + 1);
+            response.setTeam(rating.team);
+            response.setTournament(rating.tournament);
+            response.setName(rating.name);
+            response.setRating(rating.rating);
+            response.setPlayed(rating.played);
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    public double ratingOf(UUID team) {
+        Rating rating = ratings.teams.get(team);
+        return rating == null ? initialRating : rating.rating;
+    }
+
+    public double expectedScore(UUID home, UUID away) {
+        return 1.0 / (1.0 + Math.pow(10.0, (ratingOf(away) - ratingOf(home) - homeAdvantage) / 400.0));
+    }
+
+    private Map<UUID, Rating> replay(List<Result> results) {
+        Map<UUID, Rating> replayed = new HashMap<>();
+        results.forEach(result -> apply(replayed, result));
+        return replayed;
+    }
+
+    private void apply(Map<UUID, Rating> table, Result result) {
+        Rating home = table.computeIfAbsent(result.home, ignored -> new Rating(result.home, result.tournament, initialRating));
+        Rating away = table.computeIfAbsent(result.away, ignored -> new Rating(result.away, result.tournament, initialRating));
+        home.name = result.homeName;
+        away.name = result.awayName;
+
+        int goalDifference = Math.abs(result.homeScore - result.awayScore);
+        double actual = result.homeScore > result.awayScore ? 1.0 : result.homeScore == result.awayScore ? 0.5 : 0.0;
+        double expected = 1.0 / (1.0 + Math.pow(10.0, (away.rating - home.rating - homeAdvantage) / 400.0));
+        double margin = goalDifference <= 1 ? 1.0 : goalDifference == 2 ? 1.5 : (11.0 + goalDifference) / 8.0;
+        double delta = kFactor * margin * (actual - expected);
+
+        home.rating += delta;
+        away.rating -= delta;
+        home.played++;
+        away.played++;
+    }
+
+    private static String nameOf(Map<UUID, Rating> table, UUID team) {
+        Rating rating = table.get(team);
+        return rating == null ? null : rating.name;
+    }
+
+    private static class Result {
+
+        private final UUID match;
+
+        private final UUID tournament;
+
+        private final UUID home;
+
+        private final UUID away;
+
+        private final LocalDateTime dateTime;
+
+        private final int homeScore;
+
+        private final int awayScore;
+
+        private String homeName;
+
+        private String awayName;
+
+        private Result(Match match) {
+            this.match = match.getId();
+            this.tournament = match.getTournament().getId();
+            this.home = match.getHome().getId();
+            this.away = match.getAway().getId();
+            this.dateTime = match.getDateTime();
+            this.homeScore = match.getHomeScore();
+            this.awayScore = match.getAwayScore();
+            this.homeName = match.getHome().getName();
+            this.awayName = match.getAway().getName();
+        }
+
+        private Result(MatchEventRecord record) {
+            this.match = record.getMatchId();
+            this.tournament = record.getTournamentId();
+            this.home = record.getHomeId();
+            this.away = record.getAwayId();
+            this.dateTime = record.getDateTime();
+            this.homeScore = record.getHomeScore();
+            this.awayScore = record.getAwayScore();
+        }
+
+    }
+
+    /**
+     * The ratings by team and ranked overall and per tournament. A rating is mutable, so a change takes it out of the
+     * trees, updates it and puts it back. The map is concurrent so single ratings can be read without the service lock.
+     */
+    private class Table {
+
+        private final Map<UUID, Rating> teams;
+
+        private final RankedTree<Rating> ranked = new RankedTree<>(BY_RATING);
+
+        private final Map<UUID, RankedTree<Rating>> byTournament = new HashMap<>();
+
+        private Table(Map<UUID, Rating> teams) {
+            this.teams = teams;
+            teams.values().forEach(this::attach);
+        }
+
+        private void apply(Result result) {
+            Rating home = teams.get(result.home);
+            Rating away = teams.get(result.away);
+            if (home != null) {
+                detach(home);
+            }
+            if (away != null) {
+                detach(away);
+            }
+
+            RatingService.this.apply(teams, result);
+            attach(teams.get(result.home));
+            attach(teams.get(result.away));
+        }
+
+        private void remove(UUID team) {
+            Rating rating = teams.remove(team);
+            if (rating != null) {
+                detach(rating);
+            }
+        }
+
+        private List<Rating> first(UUID tournament, int count) {
+            if (tournament == null) {
+                return ranked.first(count);
+            }
+            RankedTree<Rating> tree = byTournament.get(tournament);
+            return tree == null ? List.of() : tree.first(count);
+        }
+
+        private void attach(Rating rating) {
+            ranked.add(rating);
+            byTournament.computeIfAbsent(rating.tournament, ignored -> new RankedTree<>(BY_RATING)).add(rating);
+        }
+
+        private void detach(Rating rating) {
+            ranked.remove(rating);
+            RankedTree<Rating> tree = byTournament.get(rating.tournament);
+            if (tree != null) {
+                tree.remove(rating);
+                if (tree.size() == 0) {
+                    byTournament.remove(rating.tournament);
+                }
+            }
+        }
+
+    }
+
+    private static class Rating {
+
+        private final UUID team;
+
+        private final UUID tournament;
+
+        private volatile String name;
+
+        private volatile double rating;
+
+        private volatile int played;
+
+        private Rating(UUID team, UUID tournament, double rating) {
+            this.team = team;
+            this.tournament = tournament;
+            this.rating = rating;
+        }
+
+        private Rating(UUID team, UUID tournament, String name, double rating) {
+            this(team, tournament, rating);
+            this.name = name.isEmpty() ? null : name;
+        }
+
+    }
+
+}
@@ -0,0 +1,207 @@
+package matchapp.services;
+
+import matchapp.entities.Match;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.repositories.MatchRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Calendar reads over match date and time. Windows that fall inside the cached days (today and the following week
+ * by default) are answered from per-day buckets kept current from committed match writes; writes committed while a
+ * refresh reads the database are also queued and replayed onto the refreshed buckets before they are swapped in.
+ * Anything else goes to the (tournament, date_time), (home_id, date_time) and (away_id, date_time) indexed queries.
+ */
+@Service
+public class ScheduleService {
+
+    private static final Comparator<Match> BY_DATE_TIME = Comparator.comparing(Match::getDateTime).thenComparing(Match::getId);
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${matchapp.schedule.cache-enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${matchapp.schedule.cache-days:7}")
+    private int cacheDays;
+
+    @Value("${matchapp.schedule.max-window-days:92}")
+    private int maxWindowDays;
+
+    private volatile Window window;
+
+    private final Object refreshLock = new Object();
+
+    private List<Consumer<Window>> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${matchapp.schedule.refresh-cron:0 0 0 * * *}")
+    public void refresh() {
+        if (!cacheEnabled) {
+            return;
+        }
+
+        synchronized (refreshLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+
+            LocalDate start = LocalDate.now();
+            Window refreshed = new Window(start, start.plusDays(cacheDays));
+            shardRouter.scatter(() -> matchRepository.findCalendar(refreshed.start.atStartOfDay(), refreshed.end.atStartOfDay()))
+                    .forEach(refreshed::put);
+
+            synchronized (this) {
+                pending.forEach(change -> change.accept(refreshed));
+                pending = null;
+                window = refreshed;
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onMatchSaved(MatchSavedEvent event) {
+        Match match = event.getMatch();
+        apply(current -> current.put(match));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentDeleted(TournamentDeletedEvent event) {
+        apply(current -> current.removeTournament(event.getTournament()));
+    }
+
+    @TransactionalEventListener
+    public void onTournamentArchived(TournamentArchivedEvent event) {
+        apply(current -> current.removeTournament(event.getTournament()));
+    }
+
+    private synchronized void apply(Consumer<Window> change) {
+        if (pending != null) {
+            pending.add(change);
+        }
+        Window current = window;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Match> findCalendar(LocalDate from, LocalDate to, UUID tournament, UUID team) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From date must be before to date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxWindowDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Calendar window must not exceed " + maxWindowDays + " days.");
+        }
+
+        Window current = window;
+        if (current != null && current.covers(from, to)) {
+            return current.find(from, to, tournament, team);
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        if (team != null) {
+            shardRouter.route(team);
+            // A team only plays in its own tournament, so a tournament filter on top is checked here.
+            List<Match> matches = new ArrayList<>(matchRepository.findCalendarByHome(start, end, team));
+            matches.addAll(matchRepository.findCalendarByAway(start, end, team));
+            if (tournament != null) {
+                matches.removeIf(match -> !tournament.equals(match.getTournament().getId()));
+            }
+            matches.sort(BY_DATE_TIME);
+            return matches;
+        }
+        if (tournament != null) {
+            shardRouter.route(tournament);
+            return matchRepository.findCalendarByTournament(start, end, tournament);
+        }
+
+        List<Match> matches = shardRouter.scatter(() -> matchRepository.findCalendar(start, end));
+        if (shardRouter.count() > 1) {
+            matches.sort(BY_DATE_TIME);
+        }
+        return matches;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Match> findToday(UUID tournament, UUID team) {
+        LocalDate today = LocalDate.now();
+        return findCalendar(today, today, tournament, team);
+    }
+
+    private static class Window {
+
+        private final LocalDate start;
+
+        private final LocalDate end;
+
+        private final Map<LocalDate, NavigableMap<Match, Match>> days = new ConcurrentHashMap<>();
+
+        private Window(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private boolean covers(LocalDate from, LocalDate to) {
+            return !from.isBefore(start) && to.isBefore(end);
+        }
+
+        private void put(Match match) {
+            LocalDate day = match.getDateTime().toLocalDate();
+            if (covers(day, day)) {
+                days.computeIfAbsent(day, ignored -> new ConcurrentSkipListMap<>(BY_DATE_TIME)).put(match, match);
+            }
+        }
+
+        private void removeTournament(UUID tournament) {
+            days.values().forEach(day -> day.keySet().removeIf(match -> match.getTournament().getId().equals(tournament)));
+        }
+
+        private List<Match> find(LocalDate from, LocalDate to, UUID tournament, UUID team) {
+            List<Match> matches = new ArrayList<>();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                NavigableMap<Match, Match> bucket = days.get(day);
+                if (bucket == null) {
+                    continue;
+                }
+
+                for (Match match : bucket.values()) {
+                    if (tournament != null && !tournament.equals(match.getTournament().getId())) {
+                        continue;
+                    }
+                    if (team != null && !team.equals(match.getHome().getId()) && !team.equals(match.getAway().getId())) {
+                        continue;
+                    }
+                    matches.add(match);
+                }
+            }
+            return matches;
+        }
+
+    }
+
+}
@@ -0,0 +1,328 @@
+package matchapp.services;
+
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.events.TeamSavedEvent;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.events.TournamentSavedEvent;
+import matchapp.models.SearchResult;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead index over tournament names/locations and team names. Queries of three characters or more are answered
+ * from trigram postings (any substring), shorter ones from an ordered map of word prefixes. The index is rebuilt in
+ * parallel at startup and kept current from committed tournament and team writes; writes committed while a rebuild
+ * reads the database are also queued and replayed onto the rebuilt index before it is swapped in.
+ */
+@Service
+public class SearchService {
+
+    public static final String TOURNAMENT = "tournament";
+
+    public static final String TEAM = "team";
+
+    private static final int GRAM = 3;
+
+    private static final char SEPARATOR = '\u0000';
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${matchapp.search.max-documents:1000000}")
+    private int maxDocuments;
+
+    @Value("${matchapp.search.max-field-length:128}")
+    private int maxFieldLength;
+
+    @Value("${matchapp.search.max-scan:20000}")
+    private int maxScan;
+
+    @Value("${matchapp.search.default-results:10}")
+    private int defaultResults;
+
+    @Value("${matchapp.search.max-results:50}")
+    private int maxResults;
+
+    private volatile Index index = new Index();
+
+    private final Object rebuildLock = new Object();
+
+    private List<Consumer<Index>> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+
+            List<Tournament> tournaments = shardRouter.scatter(tournamentRepository::findAll);
+            List<Team> teams = shardRouter.scatter(teamRepository::findAll);
+
+            Index rebuilt = new Index();
+            Stream.concat(tournaments.stream().map(this::document), teams.stream().map(this::document))
+                    .parallel()
+                    .forEach(document -> rebuilt.put(document, maxDocuments));
+
+            synchronized (this) {
+                pending.forEach(change -> change.accept(rebuilt));
+                pending = null;
+                index = rebuilt;
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTournamentSaved(TournamentSavedEvent event) {
+        Document document = document(event.getTournament());
+        apply(current -> current.put(document, maxDocuments));
+    }
+
+    @TransactionalEventListener
+    public void onTeamSaved(TeamSavedEvent event) {
+        Document document = document(event.getTeam());
+        apply(current -> current.put(document, maxDocuments));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentDeleted(TournamentDeletedEvent event) {
+        apply(current -> {
+            current.remove(event.getTournament());
+            event.getTeams().forEach(current::remove);
+        });
+    }
+
+    @TransactionalEventListener
+    public void onTournamentArchived(TournamentArchivedEvent event) {
+        apply(current -> {
+            current.remove(event.getTournament());
+            event.getTeams().forEach(current::remove);
+        });
+    }
+
+    private synchronized void apply(Consumer<Index> change) {
+        if (pending != null) {
+            pending.add(change);
+        }
+        change.accept(index);
+    }
+
+    public List<SearchResult> search(String q, Integer limit) {
+        String query = normalize(q == null ? "" : q);
+        if (query.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be blank.");
+        }
+
+        int size = limit == null ? defaultResults : Math.max(1, Math.min(limit, maxResults));
+        PriorityQueue<Scored> top = new PriorityQueue<>(size + 1, Comparator.reverseOrder());
+
+        Iterator<Document> candidates = index.candidates(query).limit(maxScan).iterator();
+        while (candidates.hasNext()) {
+            Document document = candidates.next();
+            int score = document.score(query);
+            if (score == 0) {
+                continue;
+            }
+
+            Scored scored = new Scored(score, document);
+            if (top.size() < size) {
+                top.add(scored);
+            } else if (scored.compareTo(top.peek()) < 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        List<Scored> ordered = new ArrayList<>(top);
+        Collections.sort(ordered);
+        return ordered.stream().map(scored -> scored.document.toResult()).toList();
+    }
+
+    private Document document(Tournament tournament) {
+        return new Document(TOURNAMENT, tournament.getId(), null, tournament.getName(), tournament.getLocation(),
+                new String[]{normalize(tournament.getName()), normalize(tournament.getLocation())});
+    }
+
+    private Document document(Team team) {
+        return new Document(TEAM, team.getId(), team.getTournament().getId(), team.getName(), null,
+                new String[]{normalize(team.getName())});
+    }
+
+    private String normalize(String text) {
+        String normalized = text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.length() > maxFieldLength ? normalized.substring(0, maxFieldLength) : normalized;
+    }
+
+    private record Document(String type, UUID id, UUID tournament, String name, String location, String[] fields) {
+
+        private int score(String query) {
+            int best = 0;
+            for (String field : fields) {
+                if (field.equals(query)) {
+                    best = Math.max(best, 4);
+                } else if (field.startsWith(query)) {
+                    best = Math.max(best, 3);
+                } else if (field.contains(" " + query)) {
+                    best = Math.max(best, 2);
+                } else if (field.contains(query)) {
+                    best = Math.max(best, 1);
+                }
+            }
+            return best;
+        }
+
+        private SearchResult toResult() {
+            SearchResult result = new SearchResult();
+            result.setType(type);
+            result.setId(id);
+            result.setTournament(tournament);
+            result.setName(name);
+            result.setLocation(location);
+            return result;
+        }
+
+    }
+
+    private record Scored(int score, Document document) implements Comparable<Scored> {
+
+        @Override
+        public int compareTo(Scored other) {
+            if (score != other.score) {
+                return Integer.compare(other.score, score);
+            }
+            if (document.name.length() != other.document.name.length()) {
+                return Integer.compare(document.name.length(), other.document.name.length());
+            }
+            return document.name.compareTo(other.document.name);
+        }
+
+    }
+
+    /**
+     * Postings of the current documents. Changes to one document hold its lock stripe, so the document map and the
+     * postings it is linked into always agree; changes to different documents run in parallel.
+     */
+    private static class Index {
+
+        private static final int LOCK_STRIPES = 64;
+
+        private final Object[] locks = new Object[LOCK_STRIPES];
+
+        private final Map<UUID, Document> documents = new ConcurrentHashMap<>();
+
+        private final Map<String, Set<Document>> grams = new ConcurrentHashMap<>();
+
+        private final NavigableMap<String, Document> words = new ConcurrentSkipListMap<>();
+
+        private Index() {
+            for (int i = 0; i < locks.length; i++) {
+                locks[i] = new Object();
+            }
+        }
+
+        private void put(Document document, int maxDocuments) {
+            synchronized (lock(document.id)) {
+                if (documents.size() >= maxDocuments && !documents.containsKey(document.id)) {
+                    return;
+                }
+
+                Document previous = documents.put(document.id, document);
+                if (previous != null) {
+                    unlink(previous);
+                }
+                link(document);
+            }
+        }
+
+        private void remove(UUID id) {
+            synchronized (lock(id)) {
+                Document previous = documents.remove(id);
+                if (previous != null) {
+                    unlink(previous);
+                }
+            }
+        }
+
+        private Object lock(UUID id) {
+            return locks[Math.floorMod(id.hashCode(), locks.length)];
+        }
+
+        /**
+         * The documents that may match, produced lazily so that the caller's scan cap also bounds the work done here.
+         * A document with several words under a short prefix comes up once per word and is only kept the first time.
+         */
+        private Stream<Document> candidates(String query) {
+            if (query.length() < GRAM) {
+                return words.subMap(query, true, query + Character.MAX_VALUE, true).values().stream().distinct();
+            }
+
+            Set<Document> smallest = null;
+            for (int i = 0; i + GRAM <= query.length(); i++) {
+                Set<Document> postings = grams.get(query.substring(i, i + GRAM));
+                if (postings == null) {
+                    return Stream.empty();
+                }
+                if (smallest == null || postings.size() < smallest.size()) {
+                    smallest = postings;
+                }
+            }
+            return smallest.stream();
+        }
+
+        private void link(Document document) {
+            for (String field : document.fields) {
+                for (int i = 0; i + GRAM <= field.length(); i++) {
+                    grams.compute(field.substring(i, i + GRAM), (gram, postings) -> {
+                        Set<Document> linked = postings == null ? ConcurrentHashMap.newKeySet() : postings;
+                        linked.add(document);
+                        return linked;
+                    });
+                }
+                for (String word : field.split(" ")) {
+                    if (!word.isEmpty()) {
+                        words.put(word + SEPARATOR + document.id, document);
+                    }
+                }
+            }
+        }
+
+        private void unlink(Document document) {
+            for (String field : document.fields) {
+                for (int i = 0; i + GRAM <= field.length(); i++) {
+                    grams.computeIfPresent(field.substring(i, i + GRAM), (gram, postings) -> {
+                        postings.remove(document);
+                        return postings.isEmpty() ? null : postings;
+                    });
+                }
+                for (String word : field.split(" ")) {
+                    words.remove(word + SEPARATOR + document.id, document);
+                }
+            }
+        }
+
+    }
+
+}
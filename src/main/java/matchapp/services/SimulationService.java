@@ -0,0 +1,341 @@
+package matchapp.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TeamSavedEvent;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.models.SimulationResponse;
+import matchapp.models.SimulationStanding;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte Carlo finishing-position odds. Played matches are folded into base points and goal difference, each remaining
+ * fixture becomes a pair of cumulative outcome thresholds from the teams' ratings, and batches of runs are played out
+ * on the service's own fork-join pool over primitive arrays allocated once per batch. The fixtures are loaded in a short
+ * read-only transaction and the runs are played after it has ended, so no connection is held while simulating. Results
+ * are cached per tournament until a match or team of that tournament is saved. Simulations are exempt from the
+ * admission filter, so at most {@code max-concurrent} of them load and run at once and the rest are turned away rather
+ * than queued on the pool.
+ */
+@Service
+public class SimulationService {
+
+    private static final int BATCH_RUNS = 4096;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${matchapp.simulation.default-runs:100000}")
+    private int defaultRuns;
+
+    @Value("${matchapp.simulation.max-runs:1000000}")
+    private int maxRuns;
+
+    @Value("${matchapp.simulation.max-teams:1000}")
+    private int maxTeams;
+
+    @Value("${matchapp.simulation.draw-rate:0.25}")
+    private double drawRate;
+
+    @Value("${matchapp.simulation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${matchapp.simulation.max-concurrent:2}")
+    private int maxConcurrent;
+
+    private final Map<UUID, SimulationResponse> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private ForkJoinPool pool;
+
+    private Semaphore running;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        running = new Semaphore(maxConcurrent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public SimulationResponse simulate(UUID tournamentId, Integer runs) {
+        int size = runs == null ? defaultRuns : runs;
+        if (size < 1 || size > maxRuns) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Runs must be between 1 and " + maxRuns + ".");
+        }
+
+        SimulationResponse cached = cache.get(tournamentId);
+        if (cached != null && cached.getRuns() == size) {
+            return cached;
+        }
+
+        if (!running.tryAcquire()) {
+            throw DomainError.SIMULATIONS_BUSY.exception();
+        }
+        try {
+            return simulate(tournamentId, size);
+        } finally {
+            running.release();
+        }
+    }
+
+    private SimulationResponse simulate(UUID tournamentId, int size) {
+        long version = generation.get();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Loaded loaded = shardRouter.on(shardRouter.shardOf(tournamentId), () -> transactionTemplate.execute(status -> {
+            Tournament tournament = tournamentRepository.findById(tournamentId)
+                    .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+
+            List<Team> teams = teamRepository.findByTournament(tournament);
+            if (teams.size() > maxTeams) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tournament has too many teams to simulate.");
+            }
+            return new Loaded(tournament, teams, matchRepository.findResultsByTournament(tournament));
+        }));
+
+        Fixtures fixtures = fixtures(loaded.teams(), loaded.results());
+        long[] counts = pool.invoke(new Batch(fixtures, size, new SplittableRandom()));
+        SimulationResponse response = toResponse(loaded.tournament(), loaded.teams(), fixtures, counts, size);
+
+        if (generation.get() == version) {
+            cache.put(tournamentId, response);
+        }
+        return response;
+    }
+
+    @TransactionalEventListener
+    public void onMatchSaved(MatchSavedEvent event) {
+        generation.incrementAndGet();
+        cache.remove(event.getMatch().getTournament().getId());
+    }
+
+    @TransactionalEventListener
+    public void onTeamSaved(TeamSavedEvent event) {
+        generation.incrementAndGet();
+        cache.remove(event.getTeam().getTournament().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentDeleted(TournamentDeletedEvent event) {
+        generation.incrementAndGet();
+        cache.remove(event.getTournament());
+    }
+
+    @TransactionalEventListener
+    public void onTournamentArchived(TournamentArchivedEvent event) {
+        generation.incrementAndGet();
+        cache.remove(event.getTournament());
+    }
+
+    private Fixtures fixtures(List<Team> teams, List<Object[]> results) {
+        int n = teams.size();
+        Map<UUID, Integer> indexes = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indexes.put(teams.get(i).getId(), i);
+        }
+
+        Fixtures fixtures = new Fixtures(n, results.size());
+        for (Object[] result : results) {
+            Integer home = indexes.get((UUID) result[0]);
+            Integer away = indexes.get((UUID) result[1]);
+            if (home == null || away == null) {
+                continue;
+            }
+
+            if (result[2] != null && result[3] != null) {
+                int homeScore = (Integer) result[2];
+                int awayScore = (Integer) result[3];
+                fixtures.points[home] += homeScore > awayScore ? 3 : homeScore == awayScore ? 1 : 0;
+                fixtures.points[away] += awayScore > homeScore ? 3 : homeScore == awayScore ? 1 : 0;
+                fixtures.goalDifference[home] += homeScore - awayScore;
+                fixtures.goalDifference[away] += awayScore - homeScore;
+                continue;
+            }
+
+            double expected = ratingService.expectedScore((UUID) result[0], (UUID) result[1]);
+            int fixture = fixtures.count++;
+            fixtures.homes[fixture] = home;
+            fixtures.aways[fixture] = away;
+            fixtures.homeWin[fixture] = expected * (1.0 - drawRate);
+            fixtures.notAwayWin[fixture] = fixtures.homeWin[fixture] + drawRate;
+        }
+        return fixtures;
+    }
+
+    private SimulationResponse toResponse(Tournament tournament, List<Team> teams, Fixtures fixtures, long[] counts, int runs) {
+        int n = teams.size();
+        List<SimulationStanding> standings = new ArrayList<>(n);
+        for (int team = 0; team < n; team++) {
+            List<Double> positions = new ArrayList<>(n);
+            for (int position = 0; position < n; position++) {
+                positions.add((double) counts[team * n + position] / runs);
+            }
+
+            SimulationStanding standing = new SimulationStanding();
+            standing.setTeam(teams.get(team).getId());
+            standing.setName(teams.get(team).getName());
+            standing.setPoints(fixtures.points[team]);
+            standing.setExpectedPoints((double) counts[n * n + team] / runs);
+            standing.setPositions(positions);
+            standings.add(standing);
+        }
+        standings.sort(Comparator.comparingDouble(SimulationStanding::getExpectedPoints).reversed());
+
+        SimulationResponse response = new SimulationResponse();
+        response.setTournament(tournament.getId());
+        response.setRuns(runs);
+        response.setRemainingMatches(fixtures.count);
+        response.setStandings(standings);
+        return response;
+    }
+
+    private record Loaded(Tournament tournament, List<Team> teams, List<Object[]> results) {
+    }
+
+    private static class Fixtures {
+
+        private final int teams;
+
+        private final int[] points;
+
+        private final int[] goalDifference;
+
+        private final int[] homes;
+
+        private final int[] aways;
+
+        private final double[] homeWin;
+
+        private final double[] notAwayWin;
+
+        private int count;
+
+        private Fixtures(int teams, int matches) {
+            this.teams = teams;
+            this.points = new int[teams];
+            this.goalDifference = new int[teams];
+            this.homes = new int[matches];
+            this.aways = new int[matches];
+            this.homeWin = new double[matches];
+            this.notAwayWin = new double[matches];
+        }
+
+    }
+
+    /**
+     * Plays a share of the runs and returns, per team, position counts at {@code team * teams + position} followed by
+     * point totals at {@code teams * teams + team}. Standings are ranked by a packed sort key of points, played goal
+     * difference, a random tiebreak and the team index.
+     */
+    private static class Batch extends RecursiveTask<long[]> {
+
+        private final Fixtures fixtures;
+
+        private final int runs;
+
+        private final SplittableRandom random;
+
+        private Batch(Fixtures fixtures, int runs, SplittableRandom random) {
+            this.fixtures = fixtures;
+            this.runs = runs;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (runs > BATCH_RUNS) {
+                Batch left = new Batch(fixtures, runs / 2, random.split());
+                left.fork();
+                long[] counts = new Batch(fixtures, runs - runs / 2, random).compute();
+                long[] other = left.join();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += other[i];
+                }
+                return counts;
+            }
+
+            int n = fixtures.teams;
+            int[] points = new int[n];
+            long[] keys = new long[n];
+            long[] counts = new long[n * n + n];
+
+            long[] tiebreak = new long[n];
+            for (int team = 0; team < n; team++) {
+                long goals = Math.max(0, Math.min((1 << 20) - 1, fixtures.goalDifference[team] + (1 << 19)));
+                tiebreak[team] = goals << 24 | team;
+            }
+
+            for (int run = 0; run < runs; run++) {
+                System.arraycopy(fixtures.points, 0, points, 0, n);
+                for (int fixture = 0; fixture < fixtures.count; fixture++) {
+                    double outcome = random.nextDouble();
+                    if (outcome < fixtures.homeWin[fixture]) {
+                        points[fixtures.homes[fixture]] += 3;
+                    } else if (outcome < fixtures.notAwayWin[fixture]) {
+                        points[fixtures.homes[fixture]]++;
+                        points[fixtures.aways[fixture]]++;
+                    } else {
+                        points[fixtures.aways[fixture]] += 3;
+                    }
+                }
+
+                for (int team = 0; team < n; team++) {
+                    keys[team] = (long) points[team] << 44 | tiebreak[team] | (long) random.nextInt(256) << 16;
+                    counts[n * n + team] += points[team];
+                }
+                Arrays.sort(keys);
+
+                for (int position = 0; position < n; position++) {
+                    int team = (int) (keys[n - 1 - position] & 0xFFFF);
+                    counts[team * n + position]++;
+                }
+            }
+            return counts;
+        }
+
+    }
+
+}
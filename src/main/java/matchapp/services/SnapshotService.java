@@ -0,0 +1,252 @@
+package matchapp.services;
+
+import jakarta.annotation.PreDestroy;
+import matchapp.events.MatchSavedEvent;
+import matchapp.events.TeamSavedEvent;
+import matchapp.events.TournamentSavedEvent;
+import matchapp.models.SnapshotResponse;
+import matchapp.repositories.FeedVersionRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Warm restarts. Every {@link Snapshottable} is written as a named, length-prefixed section of one gzip file behind a
+ * header holding the row counts and the sum of all {@link matchapp.entities.FeedVersion feed versions}. Every committed
+ * tournament, team or match save bumps a feed version in the same transaction, on whichever instance it runs, so that
+ * sum is a high-water mark for the whole database; the counts catch deletes and rows changed behind the application's
+ * back. A snapshot is only kept if the header read before writing it still holds afterwards, and no write of this
+ * instance was between its commit and its listeners then. On start the file is only restored if the header still
+ * matches the database; otherwise every component falls back to its cold load.
+ */
+@Service
+public class SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private static final int MAGIC = 0x4d534e50;
+
+    private static final int VERSION = 3;
+
+    @Autowired
+    private List<Snapshottable> components;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private FeedVersionRepository feedVersionRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${matchapp.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matchapp.snapshot.file:data/snapshot/state.snap}")
+    private Path file;
+
+    @Value("${matchapp.snapshot.save-attempts:5}")
+    private int saveAttempts;
+
+    @Value("${matchapp.snapshot.retry-delay:50ms}")
+    private Duration retryDelay;
+
+    // Writing transactions of this instance between their commit and the end of their after-commit listeners.
+    private final AtomicInteger committing = new AtomicInteger();
+
+    @EventListener
+    public void onMatchSaved(MatchSavedEvent event) {
+        track();
+    }
+
+    @EventListener
+    public void onTeamSaved(TeamSavedEvent event) {
+        track();
+    }
+
+    @EventListener
+    public void onTournamentSaved(TournamentSavedEvent event) {
+        track();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized boolean restore() {
+        if (!enabled || !Files.exists(file)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("Ignoring snapshot {} with an unknown format", file);
+                return false;
+            }
+
+            long createdAt = in.readLong();
+            long[] counts = {in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong()};
+            if (!Arrays.equals(counts, counts())) {
+                log.info("Ignoring snapshot {} from {}, the database has changed since", file, Instant.ofEpochMilli(createdAt));
+                return false;
+            }
+
+            for (int i = in.readInt(); i > 0; i--) {
+                String name = in.readUTF();
+                byte[] section = new byte[in.readInt()];
+                in.readFully(section);
+                for (Snapshottable component : components) {
+                    if (component.snapshotName().equals(name)) {
+                        component.readSnapshot(new DataInputStream(new ByteArrayInputStream(section)));
+                    }
+                }
+            }
+            log.info("Restored snapshot {} from {}", file, Instant.ofEpochMilli(createdAt));
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not restore snapshot {}", file, e);
+            return false;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${matchapp.snapshot.interval-ms:300000}", fixedDelayString = "${matchapp.snapshot.interval-ms:300000}")
+    @PreDestroy
+    public void scheduledSave() {
+        if (enabled) {
+            try {
+                save();
+            } catch (ResponseStatusException e) {
+                log.warn("Could not write snapshot {}: {}", file, e.getReason(), e.getCause());
+            }
+        }
+    }
+
+    public synchronized SnapshotResponse save() {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            for (int attempt = 0; attempt < saveAttempts; attempt++) {
+                if (attempt > 0) {
+                    LockSupport.parkNanos(retryDelay.toNanos() * attempt);
+                }
+
+                long[] counts = counts();
+                if (committing.get() > 0) {
+                    continue;
+                }
+                long createdAt = System.currentTimeMillis();
+                List<String> sections = write(temporary, createdAt, counts);
+                if (committing.get() > 0 || !Arrays.equals(counts, counts())) {
+                    continue;
+                }
+
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                SnapshotResponse response = new SnapshotResponse();
+                response.setCreatedAt(createdAt);
+                response.setBytes(Files.size(file));
+                response.setSections(sections);
+                return response;
+            }
+            Files.deleteIfExists(temporary);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Snapshot could not be written.", e);
+        }
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Snapshot could not be written, the state kept changing.");
+    }
+
+    private List<String> write(Path temporary, long createdAt, long[] counts) throws IOException {
+        List<String> sections = new ArrayList<>();
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(createdAt);
+            for (long count : counts) {
+                out.writeLong(count);
+            }
+
+            out.writeInt(components.size());
+            for (Snapshottable component : components) {
+                ByteArrayOutputStream section = new ByteArrayOutputStream();
+                component.writeSnapshot(new DataOutputStream(section));
+                out.writeUTF(component.snapshotName());
+                out.writeInt(section.size());
+                section.writeTo(out);
+                sections.add(component.snapshotName());
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Counts the current transaction as committing from just before its commit until its after-commit listeners, which
+     * bring the components up to date, have run. The counter is released by a synchronization registered during
+     * {@code beforeCommit}, which sorts it after every synchronization registered earlier, listeners included.
+     */
+    private void track() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.hasResource(committing)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(committing, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.incrementAndGet();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        committing.decrementAndGet();
+                    }
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(committing);
+            }
+        });
+    }
+
+    private long[] counts() {
+        return new long[]{
+                shardRouter.sum(tournamentRepository::count),
+                shardRouter.sum(teamRepository::count),
+                shardRouter.sum(matchRepository::count),
+                shardRouter.sum(matchRepository::countByHomeScoreNotNullAndAwayScoreNotNull),
+                shardRouter.sum(feedVersionRepository::sumVersions)
+        };
+    }
+
+}
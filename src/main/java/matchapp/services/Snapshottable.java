@@ -0,0 +1,29 @@
+package matchapp.services;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * In-memory state that {@link SnapshotService} writes to the local snapshot file and restores on start. Each
+ * implementation owns its section format and must be safe to call while the application keeps serving.
+ */
+public interface Snapshottable {
+
+    String snapshotName();
+
+    void writeSnapshot(DataOutput out) throws IOException;
+
+    void readSnapshot(DataInput in) throws IOException;
+
+    static void writeId(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readId(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+}
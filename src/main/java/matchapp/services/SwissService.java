@@ -0,0 +1,275 @@
+package matchapp.services;
+
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.models.SwissPairing;
+import matchapp.models.SwissRoundRequest;
+import matchapp.models.SwissRoundResponse;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Swiss-system pairing. Standings, colour balance and each team's past opponents are built from one projection over
+ * the tournament's matches into primitive arrays and per-team sets, then each score group is paired top half against
+ * bottom half (Dutch style), skipping rematches and floating unpaired teams down into the next group. Creating a round
+ * locks the tournament row, so two concurrent requests cannot both pair the same finished round.
+ */
+@Service
+public class SwissService {
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TeamScheduleService teamScheduleService;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Transactional(readOnly = true)
+    public SwissRoundResponse preview(UUID tournamentId) {
+        shardRouter.route(tournamentId);
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+
+        List<Team> teams = teamRepository.findByTournament(tournament);
+        return pair(teams, matchRepository.findResultsByTournament(tournament)).toResponse(teams);
+    }
+
+    @Transactional
+    public SwissRoundResponse createRound(UUID tournamentId, SwissRoundRequest request) {
+        validationService.validate(request);
+        shardRouter.route(tournamentId);
+
+        Tournament tournament = tournamentRepository.findForUpdateById(tournamentId)
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+
+        if (request.getDateTime().isBefore(tournament.getStartDate().atStartOfDay())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Match date and time must be after tournament start date.");
+        } else if (request.getDateTime().isAfter(tournament.getEndDate().atTime(23,59,59))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Match date and time must be before tournament end date.");
+        }
+
+        List<Team> teams = teamRepository.findByTournament(tournament);
+        List<Object[]> results = matchRepository.findResultsByTournament(tournament);
+
+        Map<UUID, List<LocalDateTime>> times = new HashMap<>();
+        for (Object[] result : results) {
+            if (result[2] == null || result[3] == null) {
+                throw DomainError.ROUND_NOT_FINISHED.exception();
+            }
+            times.computeIfAbsent((UUID) result[0], ignored -> new ArrayList<>()).add((LocalDateTime) result[4]);
+            times.computeIfAbsent((UUID) result[1], ignored -> new ArrayList<>()).add((LocalDateTime) result[4]);
+        }
+        teams.forEach(team -> times.putIfAbsent(team.getId(), List.of()));
+        teamScheduleService.preload(times);
+
+        Round round = pair(teams, results);
+        SwissRoundResponse response = round.toResponse(teams);
+        for (int i = 0; i < round.count; i++) {
+            Match match = matchService.schedule(tournament, teams.get(round.homes[i]), teams.get(round.aways[i]), request.getDateTime());
+            response.getPairings().get(i).setMatch(match.getId());
+        }
+
+        return response;
+    }
+
+    private Round pair(List<Team> teams, List<Object[]> results) {
+        int n = teams.size();
+        if (n < 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Swiss round needs at least two teams.");
+        }
+
+        Map<UUID, Integer> indexes = new HashMap<>(n * 2);
+        double[] ratings = new double[n];
+        for (int i = 0; i < n; i++) {
+            indexes.put(teams.get(i).getId(), i);
+            ratings[i] = ratingService.ratingOf(teams.get(i).getId());
+        }
+
+        int[] points = new int[n];
+        int[] colors = new int[n];
+        int[] played = new int[n];
+        List<Set<Integer>> opponents = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            opponents.add(new HashSet<>());
+        }
+        for (Object[] result : results) {
+            Integer home = indexes.get((UUID) result[0]);
+            Integer away = indexes.get((UUID) result[1]);
+            if (home == null || away == null) {
+                continue;
+            }
+
+            opponents.get(home).add(away);
+            opponents.get(away).add(home);
+            played[home]++;
+            played[away]++;
+            colors[home]++;
+            colors[away]--;
+
+            if (result[2] != null && result[3] != null) {
+                int homeScore = (Integer) result[2];
+                int awayScore = (Integer) result[3];
+                points[home] += homeScore > awayScore ? 2 : homeScore == awayScore ? 1 : 0;
+                points[away] += awayScore > homeScore ? 2 : homeScore == awayScore ? 1 : 0;
+            }
+        }
+
+        Integer[] ranked = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ranked[i] = i;
+        }
+        Arrays.sort(ranked, (a, b) -> points[a] != points[b] ? Integer.compare(points[b], points[a])
+                : ratings[a] != ratings[b] ? Double.compare(ratings[b], ratings[a]) : Integer.compare(a, b));
+
+        int maxPlayed = Arrays.stream(played).max().orElse(0);
+        Round round = new Round(n, maxPlayed + 1);
+
+        int[] order = new int[n];
+        int size = 0;
+        if (n % 2 == 1) {
+            int bye = n - 1;
+            while (bye > 0 && played[ranked[bye]] < maxPlayed) {
+                bye--;
+            }
+            round.bye = ranked[bye];
+        }
+        for (Integer team : ranked) {
+            if (team != round.bye) {
+                order[size++] = team;
+            }
+        }
+
+        boolean[] paired = new boolean[n];
+        int[] group = new int[n];
+        int floating = 0;
+        for (int start = 0, end; start < size; start = end) {
+            end = start;
+            while (end < size && points[order[end]] == points[order[start]]) {
+                end++;
+            }
+
+            int groupSize = floating;
+            for (int i = start; i < end; i++) {
+                group[groupSize++] = order[i];
+            }
+            floating = pairGroup(group, groupSize, opponents, colors, paired, round);
+        }
+
+        for (int i = 0; i + 1 < floating; i += 2) {
+            round.add(group[i], group[i + 1], colors, opponents.get(group[i]).contains(group[i + 1]));
+        }
+
+        return round;
+    }
+
+    private int pairGroup(int[] group, int size, List<Set<Integer>> opponents, int[] colors, boolean[] paired, Round round) {
+        int half = size / 2;
+        int floating = 0;
+        for (int i = 0; i < size; i++) {
+            int team = group[i];
+            if (paired[team]) {
+                continue;
+            }
+
+            int opponent = -1;
+            int from = Math.max(i + 1, i + half);
+            for (int k = 0; k < size - i - 1 && opponent < 0; k++) {
+                int j = from + k < size ? from + k : i + 1 + (from + k - size);
+                int candidate = group[j];
+                if (!paired[candidate] && !opponents.get(team).contains(candidate)) {
+                    opponent = candidate;
+                }
+            }
+
+            if (opponent < 0) {
+                group[floating++] = team;
+                continue;
+            }
+
+            paired[team] = true;
+            paired[opponent] = true;
+            round.add(team, opponent, colors, false);
+        }
+        return floating;
+    }
+
+    private static class Round {
+
+        private final int number;
+
+        private final int[] homes;
+
+        private final int[] aways;
+
+        private final boolean[] rematch;
+
+        private int count;
+
+        private int bye = -1;
+
+        private Round(int teams, int number) {
+            this.number = number;
+            this.homes = new int[teams / 2];
+            this.aways = new int[teams / 2];
+            this.rematch = new boolean[teams / 2];
+        }
+
+        private void add(int first, int second, int[] colors, boolean isRematch) {
+            boolean firstHome = colors[first] <= colors[second];
+            homes[count] = firstHome ? first : second;
+            aways[count] = firstHome ? second : first;
+            rematch[count] = isRematch;
+            colors[homes[count]]++;
+            colors[aways[count]]--;
+            count++;
+        }
+
+        private SwissRoundResponse toResponse(List<Team> teams) {
+            List<SwissPairing> pairings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                SwissPairing pairing = new SwissPairing();
+                pairing.setHome(teams.get(homes[i]).getId());
+                pairing.setAway(teams.get(aways[i]).getId());
+                pairing.setRematch(rematch[i]);
+                pairings.add(pairing);
+            }
+
+            SwissRoundResponse response = new SwissRoundResponse();
+            response.setRound(number);
+            response.setPairings(pairings);
+            response.setBye(bye < 0 ? null : teams.get(bye).getId());
+            return response;
+        }
+
+    }
+
+}
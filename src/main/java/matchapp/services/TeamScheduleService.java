@@ -0,0 +1,190 @@
+package matchapp.services;
+
+import matchapp.entities.Team;
+import matchapp.errors.DomainError;
+import matchapp.events.TournamentArchivedEvent;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.repositories.MatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-team ordered index of match kick-off times used to reject scheduling clashes. A team's times are loaded once,
+ * after which each check is a floor/ceiling lookup. Reservations are taken under both teams' locks and released again
+ * if the surrounding transaction does not commit.
+ */
+@Service
+public class TeamScheduleService implements Snapshottable {
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Value("${matchapp.schedule.min-rest-gap:2h}")
+    private Duration minRestGap;
+
+    private final Map<UUID, Slots> teams = new ConcurrentHashMap<>();
+
+    public void reserve(Team home, Team away, LocalDateTime dateTime) {
+        Slots homeSlots = slots(home);
+        Slots awaySlots = slots(away);
+        Slots first = home.getId().compareTo(away.getId()) <= 0 ? homeSlots : awaySlots;
+        Slots second = first == homeSlots ? awaySlots : homeSlots;
+
+        synchronized (first) {
+            synchronized (second) {
+                homeSlots.load(home, matchRepository);
+                awaySlots.load(away, matchRepository);
+
+                if (homeSlots.clashes(dateTime, minRestGap)) {
+                    throw DomainError.HOME_TEAM_CLASH.exception();
+                }
+                if (awaySlots.clashes(dateTime, minRestGap)) {
+                    throw DomainError.AWAY_TEAM_CLASH.exception();
+                }
+
+                homeSlots.add(dateTime);
+                awaySlots.add(dateTime);
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(home.getId(), dateTime);
+                        release(away.getId(), dateTime);
+                    }
+                }
+            });
+        }
+    }
+
+    public void preload(Map<UUID, ? extends Collection<LocalDateTime>> times) {
+        times.forEach((team, dateTimes) -> {
+            Slots slots = teams.computeIfAbsent(team, ignored -> new Slots());
+            synchronized (slots) {
+                if (!slots.loaded) {
+                    dateTimes.forEach(slots::add);
+                    slots.loaded = true;
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTournamentDeleted(TournamentDeletedEvent event) {
+        teams.keySet().removeAll(event.getTeams());
+    }
+
+    @TransactionalEventListener
+    public void onTournamentArchived(TournamentArchivedEvent event) {
+        teams.keySet().removeAll(event.getTeams());
+    }
+
+    @Override
+    public String snapshotName() {
+        return "team-schedule";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        List<Map.Entry<UUID, Slots>> loaded = teams.entrySet().stream().filter(entry -> entry.getValue().loaded).toList();
+        out.writeInt(loaded.size());
+        for (Map.Entry<UUID, Slots> entry : loaded) {
+            Snapshottable.writeId(out, entry.getKey());
+            synchronized (entry.getValue()) {
+                TreeMap<LocalDateTime, Integer> times = entry.getValue().times;
+                out.writeInt(times.size());
+                for (Map.Entry<LocalDateTime, Integer> time : times.entrySet()) {
+                    out.writeLong(time.getKey().toEpochSecond(ZoneOffset.UTC));
+                    out.writeInt(time.getKey().getNano());
+                    out.writeInt(time.getValue());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            Slots slots = teams.computeIfAbsent(Snapshottable.readId(in), ignored -> new Slots());
+            int count = in.readInt();
+            synchronized (slots) {
+                for (int j = 0; j < count; j++) {
+                    LocalDateTime dateTime = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                    int reservations = in.readInt();
+                    if (!slots.loaded) {
+                        slots.times.put(dateTime, reservations);
+                    }
+                }
+                slots.loaded = true;
+            }
+        }
+    }
+
+    private void release(UUID team, LocalDateTime dateTime) {
+        Slots slots = teams.get(team);
+        if (slots != null) {
+            synchronized (slots) {
+                slots.remove(dateTime);
+            }
+        }
+    }
+
+    private Slots slots(Team team) {
+        return teams.computeIfAbsent(team.getId(), ignored -> new Slots());
+    }
+
+    private static class Slots {
+
+        private final TreeMap<LocalDateTime, Integer> times = new TreeMap<>();
+
+        private boolean loaded;
+
+        private void load(Team team, MatchRepository matchRepository) {
+            if (!loaded) {
+                matchRepository.findDateTimesByTeam(team).forEach(this::add);
+                loaded = true;
+            }
+        }
+
+        private boolean clashes(LocalDateTime dateTime, Duration gap) {
+            LocalDateTime before = times.floorKey(dateTime);
+            if (before != null && (before.equals(dateTime) || before.plus(gap).isAfter(dateTime))) {
+                return true;
+            }
+
+            LocalDateTime after = times.ceilingKey(dateTime);
+            return after != null && dateTime.plus(gap).isAfter(after);
+        }
+
+        private void add(LocalDateTime dateTime) {
+            times.merge(dateTime, 1, Integer::sum);
+        }
+
+        private void remove(LocalDateTime dateTime) {
+            times.computeIfPresent(dateTime, (ignored, count) -> count > 1 ? count - 1 : null);
+        }
+
+    }
+
+}
@@ -2,16 +2,21 @@ package matchapp.services;
 
 import matchapp.entities.Team;
 import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.events.TeamSavedEvent;
+import matchapp.models.BatchResponse;
 import matchapp.models.TeamRequest;
 import matchapp.repositories.TeamRepository;
 import matchapp.repositories.TournamentRepository;
+import matchapp.sharding.ShardRouter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,44 +32,72 @@ public class TeamService {
     @Autowired
     ValidationService validationService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${matchapp.batch.max-ids:100}")
+    private int maxBatchIds;
+
     @Transactional
     public void create(TeamRequest request) {
         validationService.validate(request);
+        shardRouter.route(request.getTournament());
 
         Tournament tournament = tournamentRepository.findById(request.getTournament())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tournament not found."));
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
 
         if (teamRepository.existsByTournamentAndName(tournament, request.getName())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Team already exists.");
+            throw DomainError.TEAM_EXISTS.exception();
         }
 
         Team team = new Team();
         team.setTournament(tournament);
         team.setName(request.getName());
 
-        teamRepository.save(team);
+        eventPublisher.publishEvent(new TeamSavedEvent(teamRepository.save(team), null));
+    }
+
+    @Transactional(readOnly = true)
+    public Team findById(UUID id) {
+        shardRouter.route(id);
+        return teamRepository.findById(id)
+                .orElseThrow(DomainError.TEAM_NOT_FOUND::exception);
+    }
+
+    public BatchResponse<Team> findAllById(List<UUID> ids) {
+        List<UUID> distinct = Batches.distinct(ids, maxBatchIds);
+        List<Team> found = shardRouter.gather(distinct, teamRepository::findAllWithTournamentById);
+        return Batches.collect(distinct, found, Team::getId);
     }
 
     @Transactional
     public void update(UUID id, TeamRequest request) {
         validationService.validate(request);
+        if (shardRouter.shardOf(id) != shardRouter.shardOf(request.getTournament())) {
+            throw DomainError.TEAM_SHARD_MISMATCH.exception();
+        }
+        shardRouter.route(id);
 
         Team team = teamRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found."));
+                .orElseThrow(DomainError.TEAM_NOT_FOUND::exception);
 
         Tournament tournament = tournamentRepository.findById(request.getTournament())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tournament not found."));
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
 
         Optional<Team> existingTeam = teamRepository.findByTournamentAndName(tournament, request.getName());
 
         if (existingTeam.isPresent() && existingTeam.get().getId() != id) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Team already exists.");
+            throw DomainError.TEAM_EXISTS.exception();
         }
 
+        UUID previousTournament = team.getTournament().getId();
         team.setTournament(tournament);
         team.setName(request.getName());
 
-        teamRepository.save(team);
+        eventPublisher.publishEvent(new TeamSavedEvent(teamRepository.save(team), previousTournament));
     }
 
 }
@@ -0,0 +1,65 @@
+package matchapp.services;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Decoded form of an archived tournament. Teams and matches only keep what the tournament page and the rating replay
+ * need, with matches referring to teams by id.
+ */
+@Getter
+@Setter
+public class TournamentArchive {
+
+    private UUID id;
+
+    private String name;
+
+    private String location;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private Boolean isFull;
+
+    private Long archivedAt;
+
+    private List<ArchivedTeam> teams;
+
+    private List<ArchivedMatch> matches;
+
+    @Getter
+    @Setter
+    public static class ArchivedTeam {
+
+        private UUID id;
+
+        private String name;
+
+    }
+
+    @Getter
+    @Setter
+    public static class ArchivedMatch {
+
+        private UUID id;
+
+        private UUID home;
+
+        private UUID away;
+
+        private LocalDateTime dateTime;
+
+        private Integer homeScore;
+
+        private Integer awayScore;
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package matchapp.services;
+
+import matchapp.entities.Tournament;
+import matchapp.repositories.BracketRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Removes a tournament's rows without long range locks. Its matches, then its teams, go as id-keyed bulk deletes of at
+ * most one chunk per transaction; its brackets and the tournament row go in a last transaction, which locks the
+ * tournament row first. A team or match insert racing the purge has then either committed and is seen there, or waits
+ * for the lock and fails its foreign key once the row is gone.
+ */
+@Service
+public class TournamentPurger {
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private BracketRepository bracketRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${matchapp.tournament.delete-chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Purges the tournament on the current shard and returns the ids of its teams. Teams or matches added while the
+     * chunks were deleted are deleted in the last transaction too if {@code deleteLate} is set; otherwise the last
+     * transaction rolls back with an {@link IllegalStateException} and the tournament row stays. {@code last} gets the
+     * team ids inside the last transaction, so events it publishes commit with it.
+     */
+    public List<UUID> purge(Tournament tournament, boolean deleteLate, Consumer<List<UUID>> last) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<UUID> teams = new ArrayList<>();
+        deleteInChunks(transactionTemplate, chunk -> matchRepository.findIdsByTournament(tournament, chunk), matchRepository::deleteAllByIdInBatch);
+        deleteInChunks(transactionTemplate, chunk -> teamRepository.findIdsByTournament(tournament, chunk), ids -> {
+            teamRepository.deleteAllByIdInBatch(ids);
+            teams.addAll(ids);
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (tournamentRepository.findForUpdateById(tournament.getId()).isEmpty()) {
+                return;
+            }
+            List<UUID> lateMatches = matchRepository.findIdsByTournament(tournament, Pageable.unpaged());
+            List<UUID> lateTeams = teamRepository.findIdsByTournament(tournament, Pageable.unpaged());
+            if (!lateMatches.isEmpty() || !lateTeams.isEmpty()) {
+                if (!deleteLate) {
+                    throw new IllegalStateException("Tournament " + tournament.getId() + " gained teams or matches while it was purged.");
+                }
+                if (!lateMatches.isEmpty()) {
+                    matchRepository.deleteAllByIdInBatch(lateMatches);
+                }
+                if (!lateTeams.isEmpty()) {
+                    teamRepository.deleteAllByIdInBatch(lateTeams);
+                    teams.addAll(lateTeams);
+                }
+            }
+
+            bracketRepository.deleteByTournament(tournament);
+            tournamentRepository.deleteAllByIdInBatch(List.of(tournament.getId()));
+            last.accept(teams);
+        });
+        return teams;
+    }
+
+    private void deleteInChunks(TransactionTemplate transactionTemplate, Function<PageRequest, List<UUID>> next, Consumer<List<UUID>> delete) {
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<UUID> ids = next.apply(chunk);
+                if (!ids.isEmpty()) {
+                    delete.accept(ids);
+                }
+                return ids.size() == chunkSize;
+            }));
+        }
+    }
+
+}
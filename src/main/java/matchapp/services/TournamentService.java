@@ -2,22 +2,37 @@ package matchapp.services;
 
 import matchapp.entities.Team;
 import matchapp.entities.Tournament;
+import matchapp.errors.DomainError;
+import matchapp.events.TournamentDeletedEvent;
+import matchapp.events.TournamentSavedEvent;
+import matchapp.models.BatchResponse;
+import matchapp.models.TeamPageResponse;
 import matchapp.models.TournamentByIdResponse;
 import matchapp.models.TournamentRequest;
 import matchapp.repositories.TeamRepository;
 import matchapp.repositories.TournamentRepository;
+import matchapp.pooling.WorkloadContext;
+import matchapp.sharding.ShardRouter;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 @Service
 public class TournamentService {
 
+    private static final Set<String> TOURNAMENT_FIELDS = Set.of("id", "name", "location", "startDate", "endDate", "isFull");
+
+    private static final List<String> TEAM_FIELDS = List.of("id", "name");
+
     @Autowired
     private TournamentRepository tournamentRepository;
 
@@ -27,6 +42,27 @@ public class TournamentService {
     @Autowired
     private ValidationService validationService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private TournamentPurger tournamentPurger;
+
+    @Value("${matchapp.batch.max-ids:100}")
+    private int maxBatchIds;
+
+    @Value("${matchapp.tournament.default-team-page-size:50}")
+    private int defaultTeamPageSize;
+
+    @Value("${matchapp.tournament.max-team-page-size:200}")
+    private int maxTeamPageSize;
+
     @Transactional
     public void create(TournamentRequest request) {
         validationService.validate(request);
@@ -35,6 +71,8 @@ public class TournamentService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date must be before end date.");
         }
 
+        shardRouter.routeNew();
+
         Tournament tournament = new Tournament();
         tournament.setName(request.getName());
         tournament.setLocation(request.getLocation());
@@ -42,20 +80,54 @@ public class TournamentService {
         tournament.setEndDate(request.getEndDate());
         tournament.setIsFull(request.getIsFull());
 
-        tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(new TournamentSavedEvent(tournamentRepository.save(tournament)));
     }
 
-    @Transactional(readOnly = true)
     public List<Tournament> findAll() {
-        return tournamentRepository.findAll();
+        return shardRouter.scatter(tournamentRepository::findAll);
+    }
+
+    public List<Map<String, Object>> findAll(String fields) {
+        Fieldset fieldset = fieldset(fields, false);
+        return shardRouter.scatter(() -> tournamentRepository.findAllFields(fieldset.tournament()));
+    }
+
+    public BatchResponse<Tournament> findAllById(List<UUID> ids) {
+        List<UUID> distinct = Batches.distinct(ids, maxBatchIds);
+        List<Tournament> found = shardRouter.gather(distinct, tournamentRepository::findAllById);
+
+        if (found.size() < distinct.size()) {
+            Set<UUID> present = new HashSet<>();
+            found.forEach(tournament -> present.add(tournament.getId()));
+            for (UUID id : distinct) {
+                if (!present.contains(id)) {
+                    archiveService.findById(id).ifPresent(archived -> found.add(new Tournament(archived.getId(), archived.getName(),
+                            archived.getLocation(), archived.getStartDate(), archived.getEndDate(), archived.getIsFull())));
+                }
+            }
+        }
+        return Batches.collect(distinct, found, Tournament::getId);
     }
 
     @Transactional(readOnly = true)
     public TournamentByIdResponse findById(UUID id) {
-        Tournament tournament = tournamentRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tournament not found."));
+        return findById(id, true);
+    }
 
-        List<Team> teams = teamRepository.findByTournament(tournament);
+    @Transactional(readOnly = true)
+    public TournamentByIdResponse findById(UUID id, boolean includeTeams) {
+        shardRouter.route(id);
+        Tournament tournament = tournamentRepository.findById(id).orElse(null);
+        if (tournament == null) {
+            TournamentByIdResponse archived = archiveService.findById(id)
+                    .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+            if (!includeTeams) {
+                archived.setTeams(null);
+            }
+            return archived;
+        }
+
+        List<Team> teams = includeTeams ? teamRepository.findByTournament(tournament) : null;
 
         TournamentByIdResponse response = new TournamentByIdResponse();
         response.setId(tournament.getId());
@@ -69,12 +141,78 @@ public class TournamentService {
         return response;
     }
 
+    /**
+     * One page of a tournament's teams in (name, id) order, optionally limited to names starting with a prefix. The
+     * cursor names the last team of the previous page, so each page is an index range scan however deep it is.
+     */
+    @Transactional(readOnly = true)
+    public TeamPageResponse findTeams(UUID id, String prefix, String after, Integer limit) {
+        int size = limit == null ? defaultTeamPageSize : limit;
+        if (size < 1 || size > maxTeamPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxTeamPageSize + ".");
+        }
+
+        String namePrefix = prefix == null ? "" : prefix;
+        Team cursor = after == null ? null : decodeCursor(after);
+        shardRouter.route(id);
+
+        List<Team> teams;
+        Tournament tournament = tournamentRepository.findById(id).orElse(null);
+        if (tournament != null) {
+            teams = teamRepository.findPage(tournament, escapeLike(namePrefix) + "%",
+                    cursor == null ? null : cursor.getName(), cursor == null ? null : cursor.getId(), PageRequest.of(0, size + 1));
+        } else {
+            Comparator<Team> byName = Comparator.comparing(Team::getName).thenComparing(Team::getId);
+            teams = archiveService.findById(id)
+                    .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception)
+                    .getTeams().stream()
+                    .filter(team -> team.getName().startsWith(namePrefix))
+                    .filter(team -> cursor == null || byName.compare(team, cursor) > 0)
+                    .sorted(byName)
+                    .limit(size + 1L)
+                    .toList();
+        }
+
+        TeamPageResponse response = new TeamPageResponse();
+        response.setTeams(teams.size() > size ? teams.subList(0, size) : teams);
+        response.setNext(teams.size() > size ? encodeCursor(teams.get(size - 1)) : null);
+        return response;
+    }
+
+    /**
+     * Sparse variant of {@link #findById(UUID)}: only the requested tournament columns and team columns are selected.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> findById(UUID id, String fields) {
+        Fieldset fieldset = fieldset(fields, true);
+        shardRouter.route(id);
+
+        Map<String, Object> response;
+        if (fieldset.tournament().isEmpty()) {
+            response = tournamentRepository.existsById(id) ? new LinkedHashMap<>() : null;
+        } else {
+            response = tournamentRepository.findFieldsById(id, fieldset.tournament()).orElse(null);
+        }
+
+        if (response == null) {
+            return archiveService.findById(id)
+                    .map(archived -> select(archived, fieldset))
+                    .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+        }
+
+        if (fieldset.teams() != null) {
+            response.put("teams", teamRepository.findFieldsByTournamentId(id, fieldset.teams()));
+        }
+        return response;
+    }
+
     @Transactional
     public void update(UUID id, TournamentRequest request) {
         validationService.validate(request);
+        shardRouter.route(id);
 
         Tournament tournament = tournamentRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tournament not found."));
+                .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
 
         if (request.getStartDate().isAfter(request.getEndDate())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start date must be before end date.");
@@ -86,7 +224,92 @@ public class TournamentService {
         tournament.setEndDate(request.getEndDate());
         tournament.setIsFull(request.getIsFull());
 
-        tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(new TournamentSavedEvent(tournamentRepository.save(tournament)));
+    }
+
+    /**
+     * Deletes the tournament through the {@link TournamentPurger}, together with any team or match added while it runs,
+     * or its archive if it was archived.
+     */
+    public void delete(UUID id) {
+        int shard = shardRouter.shardOf(id);
+        Tournament tournament = shardRouter.on(shard, () -> tournamentRepository.findById(id)).orElse(null);
+        if (tournament == null) {
+            List<UUID> teams = archiveService.delete(id)
+                    .orElseThrow(DomainError.TOURNAMENT_NOT_FOUND::exception);
+            eventPublisher.publishEvent(new TournamentDeletedEvent(id, teams));
+            return;
+        }
+
+        WorkloadContext.bulk(() -> shardRouter.on(shard, () -> tournamentPurger.purge(tournament, true,
+                teams -> eventPublisher.publishEvent(new TournamentDeletedEvent(id, teams)))));
+    }
+
+    private Fieldset fieldset(String fields, boolean teamsAllowed) {
+        Set<String> tournament = new LinkedHashSet<>();
+        Set<String> teams = null;
+        for (String value : fields.split(",")) {
+            String field = value.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+
+            if (teamsAllowed && field.equals("teams")) {
+                teams = teams == null ? new LinkedHashSet<>() : teams;
+                teams.addAll(TEAM_FIELDS);
+            } else if (teamsAllowed && field.startsWith("teams.") && TEAM_FIELDS.contains(field.substring("teams.".length()))) {
+                teams = teams == null ? new LinkedHashSet<>() : teams;
+                teams.add(field.substring("teams.".length()));
+            } else if (TOURNAMENT_FIELDS.contains(field)) {
+                tournament.add(field);
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + field + ".");
+            }
+        }
+
+        if (tournament.isEmpty() && teams == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fields must not be blank.");
+        }
+        return new Fieldset(List.copyOf(tournament), teams == null ? null : List.copyOf(teams));
+    }
+
+    private Map<String, Object> select(TournamentByIdResponse archived, Fieldset fieldset) {
+        Map<String, Object> response = select(archived, fieldset.tournament());
+        if (fieldset.teams() != null) {
+            response.put("teams", archived.getTeams().stream().map(team -> select(team, fieldset.teams())).toList());
+        }
+        return response;
+    }
+
+    private Map<String, Object> select(Object source, List<String> fields) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(source);
+        Map<String, Object> selected = new LinkedHashMap<>();
+        fields.forEach(field -> selected.put(field, wrapper.getPropertyValue(field)));
+        return selected;
+    }
+
+    private record Fieldset(List<String> tournament, List<String> teams) {
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String encodeCursor(Team team) {
+        String cursor = team.getId() + ":" + team.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Team decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.length() < 37 || decoded.charAt(36) != ':') {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new Team(UUID.fromString(decoded.substring(0, 36)), null, decoded.substring(37));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
     }
 
 }
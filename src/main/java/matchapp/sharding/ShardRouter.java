@@ -0,0 +1,181 @@
+package matchapp.sharding;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import matchapp.pooling.Workload;
+import matchapp.pooling.WorkloadContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tournament-keyed sharding. A tournament lives on the shard its id hashes to, and teams and matches get ids that hash
+ * to their tournament's shard, so any id names its shard. Services route inside a transaction before its first
+ * statement, and the route is undone when the transaction completes; work outside a transaction goes through
+ * {@link #on(int, Supplier)}. Reads that span tournaments scatter to every shard in parallel and gather
+ * the results, on the caller's connection pool workload. With sharding disabled there is a single shard and routing
+ * does nothing.
+ */
+@Component
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardRouter {
+
+    @Autowired
+    private ShardingProperties properties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int shards;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        shards = properties.isEnabled() ? properties.getShards().size() : 1;
+        if (shards > 1) {
+            AtomicInteger threads = new AtomicInteger();
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "shard-scatter-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public int count() {
+        return shards;
+    }
+
+    public int shardOf(UUID id) {
+        return id == null ? 0 : shardOf(id, shards);
+    }
+
+    static int shardOf(UUID id, int shards) {
+        return Math.floorMod(id.hashCode(), shards);
+    }
+
+    public void route(UUID id) {
+        route(shardOf(id));
+    }
+
+    public void routeNew() {
+        route(ThreadLocalRandom.current().nextInt(shards));
+    }
+
+    /**
+     * Routes the current transaction to a shard. Without a transaction nothing would undo the route and it would stay
+     * on the pooled thread, so that is refused.
+     */
+    public void route(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Shard routing needs an active transaction, use on(shard, work) outside one.");
+        }
+
+        Integer previous = ShardContext.get();
+        if (shards == 1 || Integer.valueOf(shard).equals(previous)) {
+            return;
+        }
+
+        ShardContext.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.set(previous);
+            }
+        });
+    }
+
+    public <T> T on(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * Runs a read-only query on every shard, in parallel when there is more than one, and concatenates the results.
+     */
+    public <T> List<T> scatter(Supplier<? extends Collection<T>> query) {
+        if (shards == 1) {
+            return new ArrayList<>(readOnly(0, query));
+        }
+
+        Workload workload = WorkloadContext.override();
+        List<Future<Collection<T>>> futures = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> WorkloadContext.as(workload, () -> readOnly(target, query))));
+        }
+        return gather(futures);
+    }
+
+    /**
+     * Runs a read-only lookup by id once on each shard that owns some of the ids, passing it only that shard's ids,
+     * and concatenates the results.
+     */
+    public <T> List<T> gather(Collection<UUID> ids, Function<List<UUID>, ? extends Collection<T>> query) {
+        if (shards == 1) {
+            List<UUID> all = List.copyOf(ids);
+            return new ArrayList<>(readOnly(0, () -> query.apply(all)));
+        }
+
+        Map<Integer, List<UUID>> byShard = new HashMap<>();
+        ids.forEach(id -> byShard.computeIfAbsent(shardOf(id), ignored -> new ArrayList<>()).add(id));
+
+        Workload workload = WorkloadContext.override();
+        List<Future<Collection<T>>> futures = new ArrayList<>(byShard.size());
+        byShard.forEach((shard, owned) -> futures.add(executor.submit(
+                () -> WorkloadContext.as(workload, () -> readOnly(shard, () -> query.apply(owned))))));
+        return gather(futures);
+    }
+
+    private <T> List<T> gather(List<Future<Collection<T>>> futures) {
+        List<T> gathered = new ArrayList<>();
+        for (Future<Collection<T>> future : futures) {
+            try {
+                gathered.addAll(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return gathered;
+    }
+
+    public long sum(Supplier<Long> query) {
+        return scatter(() -> List.of(query.get())).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private <T> Collection<T> readOnly(int shard, Supplier<? extends Collection<T>> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return on(shard, () -> template.execute(status -> new ArrayList<>(query.get())));
+    }
+
+}
@@ -0,0 +1,18 @@
+package matchapp.sharding;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A random UUID that hashes to the shard the current thread is routed to, so every row's shard can be derived from
+ * its own id.
+ */
+@IdGeneratorType(ShardedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedId {
+}
@@ -0,0 +1,32 @@
+package matchapp.sharding;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.UUID;
+
+public class ShardedIdGenerator implements IdentifierGenerator {
+
+    static final String SHARD_COUNT = "matchapp.sharding.count";
+
+    private final int shards;
+
+    public ShardedIdGenerator(ShardedId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object count = context.getServiceRegistry().getService(ConfigurationService.class).getSettings().get(SHARD_COUNT);
+        this.shards = count == null ? 1 : Integer.parseInt(count.toString());
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        int shard = ShardContext.current();
+        UUID id = UUID.randomUUID();
+        while (ShardRouter.shardOf(id, shards) != shard) {
+            id = UUID.randomUUID();
+        }
+        return id;
+    }
+
+}
@@ -0,0 +1,82 @@
+package matchapp.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import matchapp.pooling.PoolingProperties;
+import matchapp.pooling.WorkloadRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * One connection pool per configured shard behind a routing data source. The lazy proxy in front of it defers taking
+ * a physical connection until the first statement, so a transaction can begin before its shard has been chosen. With
+ * matchapp.pools.enabled each shard is itself split into read, write and bulk pools.
+ */
+@Configuration
+@EnableConfigurationProperties(PoolingProperties.class)
+@ConditionalOnProperty(name = "matchapp.sharding.enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties, PoolingProperties pooling,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        List<Closeable> pools = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            String name = "shard-" + pools.size();
+            Supplier<HikariDataSource> connections = () -> DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .driverClassName(shard.getDriverClassName())
+                    .build();
+
+            DataSource target;
+            if (pooling.isEnabled()) {
+                WorkloadRoutingDataSource split = WorkloadRoutingDataSource.create(name, connections, pooling, meterRegistry.getIfAvailable());
+                pools.add(split);
+                target = split;
+            } else {
+                HikariDataSource pool = connections.get();
+                pool.setPoolName(name);
+                pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+                pools.add(pool);
+                target = pool;
+            }
+            targets.put(targets.size(), target);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(pools);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(0));
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardCountCustomizer(ShardingProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(ShardedIdGenerator.SHARD_COUNT, properties.getShards().size());
+    }
+
+}
@@ -0,0 +1,272 @@
+package matchapp.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.JobLock;
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.models.ArchiveResponse;
+import matchapp.models.BaseResponse;
+import matchapp.models.RatingResponse;
+import matchapp.models.TournamentByIdResponse;
+import matchapp.repositories.ArchivedTournamentRepository;
+import matchapp.repositories.JobLockRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.services.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArchivedTournamentRepository archivedTournamentRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @AfterEach
+    void finish() {
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+        archivedTournamentRepository.deleteAllInBatch();
+        jobLockRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testArchiveSuccess() throws Exception {
+        Tournament finished = saveTournament(LocalDate.now().minusYears(1));
+        Team team1 = saveTeam(finished, "TEAM A");
+        Team team2 = saveTeam(finished, "TEAM B");
+        saveMatch(finished, team1, team2);
+        Tournament running = saveTournament(LocalDate.now());
+
+        mockMvc.perform(
+                post("/api/archive")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<ArchiveResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(1, response.getData().getTournaments());
+            assertEquals(2, response.getData().getTeams());
+            assertEquals(1, response.getData().getMatches());
+            assertTrue(response.getData().getBytes() > 0);
+        });
+
+        assertFalse(tournamentRepository.existsById(finished.getId()));
+        assertTrue(tournamentRepository.existsById(running.getId()));
+        assertEquals(0, teamRepository.count());
+        assertEquals(0, matchRepository.count());
+
+        mockMvc.perform(
+                get("/api/tournaments/" + finished.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<TournamentByIdResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(finished.getName(), response.getData().getName());
+            assertEquals(finished.getEndDate(), response.getData().getEndDate());
+            assertEquals(2, response.getData().getTeams().size());
+        });
+    }
+
+    @Test
+    void testArchiveSkippedWhileLeaseHeld() throws Exception {
+        Tournament finished = saveTournament(LocalDate.now().minusYears(1));
+        jobLockRepository.save(new JobLock(UUID.nameUUIDFromBytes("job:archive".getBytes(StandardCharsets.UTF_8)), "archive",
+                "another instance", System.currentTimeMillis() + 60_000));
+
+        mockMvc.perform(
+                post("/api/archive")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isConflict()
+        );
+
+        assertTrue(tournamentRepository.existsById(finished.getId()));
+        assertEquals(0, archivedTournamentRepository.count());
+    }
+
+    @Test
+    void testArchiveEvictsSearchIndex() throws Exception {
+        Tournament finished = saveTournament(LocalDate.now().minusYears(1));
+        saveTeam(finished, "ARCHIVED TEAM");
+        searchService.rebuild();
+        assertEquals(1, searchService.search("archived", null).size());
+
+        mockMvc.perform(
+                post("/api/archive")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        assertTrue(searchService.search("archived", null).isEmpty());
+    }
+
+    @Test
+    void testCalendarServedFromArchive() throws Exception {
+        Tournament finished = saveTournament(LocalDate.now().minusYears(1));
+        Team team1 = saveTeam(finished, "TEAM A");
+        Team team2 = saveTeam(finished, "TEAM B");
+        saveMatch(finished, team1, team2);
+
+        mockMvc.perform(
+                post("/api/archive")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/tournaments/" + finished.getId() + "/calendar.ics")
+        ).andExpectAll(
+                status().isOk(),
+                header().exists(HttpHeaders.ETAG)
+        ).andDo(result -> {
+            String body = result.getResponse().getContentAsString();
+            assertEquals(1, body.split("BEGIN:VEVENT").length - 1);
+            assertTrue(body.contains("TEAM A"));
+        });
+    }
+
+    @Test
+    void testRatingRebuildReplaysArchive() throws Exception {
+        Tournament finished = saveTournament(LocalDate.now().minusYears(1));
+        Team team1 = saveTeam(finished, "TEAM A");
+        Team team2 = saveTeam(finished, "TEAM B");
+        saveMatch(finished, team1, team2);
+
+        mockMvc.perform(
+                post("/api/archive")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                post("/api/ratings/rebuild")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/ratings")
+                        .param("tournament", finished.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<RatingResponse>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(2, response.getData().size());
+            assertEquals(team1.getId(), response.getData().get(0).getTeam());
+            assertEquals(1, response.getData().get(0).getPlayed());
+        });
+    }
+
+    @Test
+    void testDeleteArchivedSuccess() throws Exception {
+        Tournament finished = saveTournament(LocalDate.now().minusYears(1));
+        saveTeam(finished, "TEAM A");
+
+        mockMvc.perform(
+                post("/api/archive")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                delete("/api/tournaments/" + finished.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/tournaments/" + finished.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        );
+    }
+
+    private Tournament saveTournament(LocalDate endDate) {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(endDate.minusDays(7));
+        tournament.setEndDate(endDate);
+        tournament.setIsFull(true);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+    private void saveMatch(Tournament tournament, Team home, Team away) {
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(home);
+        match.setAway(away);
+        match.setHomeScore(2);
+        match.setAwayScore(0);
+        match.setDateTime(LocalDateTime.now().minusYears(1).minusDays(3));
+        matchRepository.save(match);
+    }
+
+}
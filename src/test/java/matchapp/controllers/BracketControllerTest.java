@@ -0,0 +1,246 @@
+package matchapp.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.models.*;
+import matchapp.repositories.BracketRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BracketControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private BracketRepository bracketRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void finish() {
+        bracketRepository.deleteAllInBatch();
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testSingleEliminationAdvances() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        Team team3 = saveTeam(tournament, "TEAM C");
+
+        BracketRequest request = new BracketRequest();
+        request.setFormat("single");
+        request.setSeeds(List.of(team1.getId(), team2.getId(), team3.getId()));
+        request.setStartDateTime(LocalDateTime.now().plusHours(2));
+        request.setRoundIntervalHours(24);
+
+        MvcResult created = mockMvc.perform(
+                post("/api/tournaments/" + tournament.getId() + "/brackets")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        ).andReturn();
+
+        BaseResponse<BracketResponse> bracket = objectMapper.readValue(created.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals("success", bracket.getStatus());
+        assertEquals(4, bracket.getData().getSize());
+        assertEquals(3, bracket.getData().getNodes().size());
+        assertEquals(team1.getId(), bracket.getData().getNodes().get(0).getWinner());
+        assertEquals(team1.getId(), bracket.getData().getNodes().get(2).getHome());
+        assertNull(bracket.getData().getNodes().get(2).getMatch());
+
+        UUID semiFinal = bracket.getData().getNodes().get(1).getMatch();
+        assertNotNull(semiFinal);
+
+        MatchResultRequest result = new MatchResultRequest();
+        result.setHomeScore(2);
+        result.setAwayScore(1);
+
+        mockMvc.perform(
+                post("/api/matches/" + semiFinal + "/result")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(result))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/brackets/" + bracket.getData().getId() + "/teams/" + team2.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(response -> {
+            BaseResponse<List<BracketNodeResponse>> path = objectMapper.readValue(response.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", path.getStatus());
+            assertEquals(2, path.getData().size());
+            assertEquals(team1.getId(), path.getData().get(1).getHome());
+            assertEquals(team2.getId(), path.getData().get(1).getAway());
+            assertNotNull(path.getData().get(1).getMatch());
+        });
+
+        assertEquals(1, bracketRepository.findById(bracket.getData().getId()).orElseThrow().getRevision());
+    }
+
+    @Test
+    void testKnockoutDrawRejected() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        BracketRequest request = new BracketRequest();
+        request.setFormat("double");
+        request.setSeeds(List.of(team1.getId(), team2.getId()));
+        request.setStartDateTime(LocalDateTime.now().plusHours(2));
+        request.setRoundIntervalHours(12);
+
+        MvcResult created = mockMvc.perform(
+                post("/api/tournaments/" + tournament.getId() + "/brackets")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        ).andReturn();
+
+        BaseResponse<BracketResponse> bracket = objectMapper.readValue(created.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+        UUID match = bracket.getData().getNodes().stream()
+                .map(BracketNodeResponse::getMatch)
+                .filter(id -> id != null)
+                .findFirst()
+                .orElseThrow();
+
+        MatchResultRequest result = new MatchResultRequest();
+        result.setHomeScore(1);
+        result.setAwayScore(1);
+
+        mockMvc.perform(
+                post("/api/matches/" + match + "/result")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(result))
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(response -> {
+            BaseResponse<String> body = objectMapper.readValue(response.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", body.getStatus());
+            assertEquals("Knockout matches cannot end in a draw.", body.getMessage());
+        });
+    }
+
+    @Test
+    void testBracketGoneWithTournament() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        BracketRequest request = new BracketRequest();
+        request.setFormat("single");
+        request.setSeeds(List.of(team1.getId(), team2.getId()));
+        request.setStartDateTime(LocalDateTime.now().plusHours(2));
+
+        MvcResult created = mockMvc.perform(
+                post("/api/tournaments/" + tournament.getId() + "/brackets")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        ).andReturn();
+
+        BaseResponse<BracketResponse> bracket = objectMapper.readValue(created.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+
+        mockMvc.perform(
+                delete("/api/tournaments/" + tournament.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/brackets/" + bracket.getData().getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        );
+        assertEquals(0, bracketRepository.count());
+    }
+
+    @Test
+    void testBracketNotFound() throws Exception {
+        mockMvc.perform(
+                get("/api/brackets/" + UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Bracket not found.", response.getMessage());
+        });
+    }
+
+    private Tournament saveTournament() {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(false);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+}
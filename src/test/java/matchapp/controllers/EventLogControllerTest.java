@@ -0,0 +1,123 @@
+package matchapp.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.models.BaseResponse;
+import matchapp.models.EventLogStatsResponse;
+import matchapp.models.MatchRequest;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.services.MatchEventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventLogControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchEventLog matchEventLog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void finish() {
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testStatsSuccess() throws Exception {
+        long before = matchEventLog.stats().getLastSequence();
+
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(true);
+        tournament = tournamentRepository.save(tournament);
+
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setHomeScore(3);
+        request.setAwayScore(2);
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/events/stats")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<EventLogStatsResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(before + 1, response.getData().getLastSequence());
+        });
+
+        List<Integer> scores = new ArrayList<>();
+        matchEventLog.replay(before + 1, record -> {
+            assertEquals(team1.getId(), record.getHomeId());
+            scores.add(record.getHomeScore());
+            scores.add(record.getAwayScore());
+        });
+        assertEquals(List.of(3, 2), scores);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+}
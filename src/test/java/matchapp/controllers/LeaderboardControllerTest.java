@@ -0,0 +1,241 @@
+package matchapp.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.models.BaseResponse;
+import matchapp.models.LeaderboardResponse;
+import matchapp.models.MatchRequest;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "matchapp.leaderboard.win-rate-min-played=2")
+@AutoConfigureMockMvc
+class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void start() throws Exception {
+        mockMvc.perform(post("/api/leaderboard/rebuild")).andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void finish() {
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testUpdatedOnMatchCreate() throws Exception {
+        Tournament tournament1 = saveTournament();
+        Tournament tournament2 = saveTournament();
+        Team team1 = saveTeam(tournament1, "TEAM A");
+        Team team2 = saveTeam(tournament1, "TEAM B");
+        Team team3 = saveTeam(tournament2, "TEAM C");
+        Team team4 = saveTeam(tournament2, "TEAM D");
+
+        createMatch(tournament1, team1, team2, 3, 0, 2);
+        createMatch(tournament1, team2, team1, 1, 1, 6);
+        createMatch(tournament2, team3, team4, 1, 0, 2);
+
+        mockMvc.perform(
+                get("/api/leaderboard")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<LeaderboardResponse>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(List.of(team1.getId(), team3.getId(), team2.getId(), team4.getId()),
+                    response.getData().stream().map(LeaderboardResponse::getTeam).toList());
+            assertEquals(1, response.getData().get(0).getRank());
+            assertEquals(4, response.getData().get(0).getPoints());
+            assertEquals(3, response.getData().get(0).getGoalDifference());
+            assertEquals(2, response.getData().get(0).getPlayed());
+        });
+
+        mockMvc.perform(
+                get("/api/leaderboard")
+                        .param("metric", "win-rate")
+                        .param("limit", "10")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<LeaderboardResponse>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(List.of(team1.getId(), team2.getId()),
+                    response.getData().stream().map(LeaderboardResponse::getTeam).toList());
+            assertEquals(0.5, response.getData().get(0).getWinRate());
+        });
+
+        mockMvc.perform(
+                get("/api/leaderboard/teams/" + team4.getId())
+                        .param("metric", "goal-difference")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<LeaderboardResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(3, response.getData().getRank());
+            assertEquals(-1, response.getData().getGoalDifference());
+            assertEquals(1, response.getData().getLosses());
+        });
+
+        mockMvc.perform(
+                get("/api/leaderboard/teams/" + team4.getId())
+                        .param("metric", "win-rate")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<LeaderboardResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertNull(response.getData().getRank());
+        });
+    }
+
+    @Test
+    void testRebuildSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(team1);
+        match.setAway(team2);
+        match.setHomeScore(0);
+        match.setAwayScore(2);
+        match.setDateTime(LocalDateTime.now().plusHours(2));
+        matchRepository.save(match);
+
+        mockMvc.perform(
+                post("/api/leaderboard/rebuild")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/leaderboard/teams/" + team2.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<LeaderboardResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(1, response.getData().getRank());
+            assertEquals(3, response.getData().getPoints());
+            assertEquals("TEAM B", response.getData().getName());
+        });
+    }
+
+    @Test
+    void testFindByTeamNotFound() throws Exception {
+        mockMvc.perform(
+                get("/api/leaderboard/teams/" + UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("Team not found in leaderboard.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testFindTopBadRequest() throws Exception {
+        mockMvc.perform(
+                get("/api/leaderboard")
+                        .param("metric", "elo")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        );
+
+        mockMvc.perform(
+                get("/api/leaderboard")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        );
+    }
+
+    private void createMatch(Tournament tournament, Team home, Team away, int homeScore, int awayScore, int hours) throws Exception {
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(home.getId());
+        request.setAway(away.getId());
+        request.setHomeScore(homeScore);
+        request.setAwayScore(awayScore);
+        request.setDateTime(LocalDateTime.now().plusHours(hours));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpect(status().isOk());
+    }
+
+    private Tournament saveTournament() {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(true);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+}
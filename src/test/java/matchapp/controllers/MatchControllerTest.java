@@ -6,7 +6,10 @@ import matchapp.entities.Match;
 import matchapp.entities.Team;
 import matchapp.entities.Tournament;
 import matchapp.models.BaseResponse;
+import matchapp.models.MatchIngestionResponse;
+import matchapp.models.MatchIngestionStatsResponse;
 import matchapp.models.MatchRequest;
+import matchapp.models.MatchResultRequest;
 import matchapp.repositories.MatchRepository;
 import matchapp.repositories.TeamRepository;
 import matchapp.repositories.TournamentRepository;
@@ -18,10 +21,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cglib.core.Local;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -48,9 +55,9 @@ class MatchControllerTest {
 
     @AfterEach
     void finish() {
-        matchRepository.deleteAll();
-        teamRepository.deleteAll();
-        tournamentRepository.deleteAll();
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
     }
 
     @Test
@@ -229,6 +236,66 @@ class MatchControllerTest {
         });
     }
 
+    @Test
+    void testCreateAwayTeamNotInTournament() throws Exception {
+        // CREATE NEW TOURNAMENTS
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(true);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        Tournament otherData = new Tournament();
+        otherData.setId(UUID.randomUUID());
+        otherData.setName("OTHER");
+        otherData.setLocation("OTHER");
+        otherData.setStartDate(LocalDate.now());
+        otherData.setEndDate(LocalDate.now().plusDays(7));
+        otherData.setIsFull(true);
+        Tournament other = tournamentRepository.save(otherData);
+
+        // CREATE NEW TEAM 1
+        Team teamData1 = new Team();
+        teamData1.setId(UUID.randomUUID());
+        teamData1.setTournament(tournament);
+        teamData1.setName("TEAM A");
+        Team team1 = teamRepository.save(teamData1);
+
+        // CREATE NEW TEAM 2 IN THE OTHER TOURNAMENT
+        Team teamData2 = new Team();
+        teamData2.setId(UUID.randomUUID());
+        teamData2.setTournament(other);
+        teamData2.setName("TEAM B");
+        Team team2 = teamRepository.save(teamData2);
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setHomeScore(null);
+        request.setAwayScore(null);
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Away team not found in tournament.", response.getMessage());
+        });
+
+        assertEquals(0, matchRepository.count());
+    }
+
     @Test
     void testCreateHalfAlreadyExists() throws Exception {
         // CREATE NEW TOURNAMENT
@@ -386,7 +453,7 @@ class MatchControllerTest {
         request.setAway(team2.getId());
         request.setHomeScore(null);
         request.setAwayScore(null);
-        request.setDateTime(LocalDateTime.now().plusHours(2));
+        request.setDateTime(LocalDateTime.now().plusDays(1));
 
         mockMvc.perform(
                 post("/api/matches")
@@ -568,4 +635,451 @@ class MatchControllerTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    void testCreateTeamScheduleClash() throws Exception {
+        // CREATE NEW TOURNAMENT
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(false);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        // CREATE NEW TEAM 1
+        Team teamData1 = new Team();
+        teamData1.setId(UUID.randomUUID());
+        teamData1.setTournament(tournament);
+        teamData1.setName("TEAM A");
+        Team team1 = teamRepository.save(teamData1);
+
+        // CREATE NEW TEAM 2
+        Team teamData2 = new Team();
+        teamData2.setId(UUID.randomUUID());
+        teamData2.setTournament(tournament);
+        teamData2.setName("TEAM B");
+        Team team2 = teamRepository.save(teamData2);
+
+        // CREATE NEW TEAM 3
+        Team teamData3 = new Team();
+        teamData3.setId(UUID.randomUUID());
+        teamData3.setTournament(tournament);
+        teamData3.setName("TEAM C");
+        Team team3 = teamRepository.save(teamData3);
+
+        // CREATE NEW MATCH
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(team1);
+        match.setAway(team2);
+        match.setDateTime(LocalDateTime.now().plusDays(1));
+        matchRepository.save(match);
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team3.getId());
+        request.setAway(team1.getId());
+        request.setHomeScore(null);
+        request.setAwayScore(null);
+        request.setDateTime(LocalDateTime.now().plusDays(1).plusHours(1));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isConflict()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Away team has another match too close to this date and time.", response.getMessage());
+        });
+
+        request.setDateTime(LocalDateTime.now().plusDays(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+    }
+
+    @Test
+    void testRecordResultOnce() throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(true);
+        tournament = tournamentRepository.save(tournament);
+
+        Team home = teamRepository.save(new Team(UUID.randomUUID(), tournament, "TEAM A"));
+        Team away = teamRepository.save(new Team(UUID.randomUUID(), tournament, "TEAM B"));
+
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(home);
+        match.setAway(away);
+        match.setDateTime(LocalDateTime.now().plusDays(1));
+        UUID id = matchRepository.save(match).getId();
+
+        MatchResultRequest request = new MatchResultRequest();
+        request.setHomeScore(1);
+        request.setAwayScore(0);
+        String content = objectMapper.writeValueAsString(request);
+
+        List<CompletableFuture<Integer>> posts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            posts.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mockMvc.perform(
+                            post("/api/matches/" + id + "/result")
+                                    .accept(MediaType.APPLICATION_JSON)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(content)
+                    ).andReturn().getResponse().getStatus();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        List<Integer> statuses = posts.stream().map(CompletableFuture::join).sorted().toList();
+        assertEquals(List.of(200, 409, 409, 409), statuses);
+    }
+
+    @Test
+    void testRecordResultNotFound() throws Exception {
+        MatchResultRequest request = new MatchResultRequest();
+        request.setHomeScore(1);
+        request.setAwayScore(0);
+
+        mockMvc.perform(
+                post("/api/matches/" + UUID.randomUUID() + "/result")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Match not found.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testIngestSuccess() throws Exception {
+        // CREATE NEW TOURNAMENT
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(true);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        // CREATE NEW TEAM 1
+        Team teamData1 = new Team();
+        teamData1.setId(UUID.randomUUID());
+        teamData1.setTournament(tournament);
+        teamData1.setName("TEAM A");
+        Team team1 = teamRepository.save(teamData1);
+
+        // CREATE NEW TEAM 2
+        Team teamData2 = new Team();
+        teamData2.setId(UUID.randomUUID());
+        teamData2.setTournament(tournament);
+        teamData2.setName("TEAM B");
+        Team team2 = teamRepository.save(teamData2);
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setHomeScore(null);
+        request.setAwayScore(null);
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        MvcResult accepted = mockMvc.perform(
+                post("/api/matches/ingest")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isAccepted()
+        ).andReturn();
+
+        BaseResponse<MatchIngestionResponse> queued = objectMapper.readValue(accepted.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals("success", queued.getStatus());
+        assertNotNull(queued.getData().getId());
+
+        MatchIngestionResponse ingestion = awaitIngestion(queued.getData().getId());
+        assertEquals("created", ingestion.getStatus());
+        assertNotNull(ingestion.getCompletedAt());
+        assertEquals(1, matchRepository.count());
+    }
+
+    @Test
+    void testIngestBadRequest() throws Exception {
+        MatchRequest request = new MatchRequest();
+
+        mockMvc.perform(
+                post("/api/matches/ingest")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertNotNull(response.getMessage());
+        });
+    }
+
+    @Test
+    void testIngestTournamentNotFound() throws Exception {
+        MatchRequest request = new MatchRequest();
+        request.setTournament(UUID.randomUUID());
+        request.setHome(UUID.randomUUID());
+        request.setAway(UUID.randomUUID());
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        MvcResult accepted = mockMvc.perform(
+                post("/api/matches/ingest")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isAccepted()
+        ).andReturn();
+
+        BaseResponse<MatchIngestionResponse> queued = objectMapper.readValue(accepted.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+
+        MatchIngestionResponse ingestion = awaitIngestion(queued.getData().getId());
+        assertEquals("failed", ingestion.getStatus());
+        assertEquals("Tournament not found.", ingestion.getMessage());
+    }
+
+    @Test
+    void testIngestStatusNotFound() throws Exception {
+        mockMvc.perform(
+                get("/api/matches/ingest/" + UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Ingestion not found.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testIngestStats() throws Exception {
+        mockMvc.perform(
+                get("/api/matches/ingest/stats")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<MatchIngestionStatsResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertNotNull(response.getData().getDepth());
+            assertNotNull(response.getData().getLagMillis());
+        });
+    }
+
+    @Test
+    void testCalendarSuccess() throws Exception {
+        // CREATE NEW TOURNAMENT
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(30));
+        tournamentData.setIsFull(true);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        // CREATE NEW TEAM 1
+        Team teamData1 = new Team();
+        teamData1.setId(UUID.randomUUID());
+        teamData1.setTournament(tournament);
+        teamData1.setName("TEAM A");
+        Team team1 = teamRepository.save(teamData1);
+
+        // CREATE NEW TEAM 2
+        Team teamData2 = new Team();
+        teamData2.setId(UUID.randomUUID());
+        teamData2.setTournament(tournament);
+        teamData2.setName("TEAM B");
+        Team team2 = teamRepository.save(teamData2);
+
+        // CREATE NEW MATCH
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(team1);
+        match.setAway(team2);
+        match.setDateTime(LocalDate.now().plusDays(20).atTime(12, 0));
+        matchRepository.save(match);
+
+        mockMvc.perform(
+                get("/api/matches/calendar")
+                        .param("from", LocalDate.now().plusDays(19).toString())
+                        .param("to", LocalDate.now().plusDays(21).toString())
+                        .param("tournament", tournament.getId().toString())
+                        .param("team", team2.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<Match>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(1, response.getData().size());
+        });
+
+        mockMvc.perform(
+                get("/api/matches/calendar")
+                        .param("from", LocalDate.now().plusDays(19).toString())
+                        .param("to", LocalDate.now().plusDays(21).toString())
+                        .param("team", team1.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<Match>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(1, response.getData().size());
+            assertEquals(team1.getId(), response.getData().get(0).getHome().getId());
+        });
+
+        mockMvc.perform(
+                get("/api/matches/calendar")
+                        .param("from", LocalDate.now().plusDays(21).toString())
+                        .param("to", LocalDate.now().plusDays(22).toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<Match>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(0, response.getData().size());
+        });
+    }
+
+    @Test
+    void testCalendarBadRequest() throws Exception {
+        mockMvc.perform(
+                get("/api/matches/calendar")
+                        .param("from", LocalDate.now().plusDays(1).toString())
+                        .param("to", LocalDate.now().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("From date must be before to date.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testTodaySuccess() throws Exception {
+        // CREATE NEW TOURNAMENT
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(true);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        // CREATE NEW TEAM 1
+        Team teamData1 = new Team();
+        teamData1.setId(UUID.randomUUID());
+        teamData1.setTournament(tournament);
+        teamData1.setName("TEAM A");
+        Team team1 = teamRepository.save(teamData1);
+
+        // CREATE NEW TEAM 2
+        Team teamData2 = new Team();
+        teamData2.setId(UUID.randomUUID());
+        teamData2.setTournament(tournament);
+        teamData2.setName("TEAM B");
+        Team team2 = teamRepository.save(teamData2);
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setDateTime(LocalDate.now().atTime(12, 0));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/matches/today")
+                        .param("tournament", tournament.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<Match>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(1, response.getData().size());
+        });
+    }
+
+    private MatchIngestionResponse awaitIngestion(UUID id) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            MvcResult result = mockMvc.perform(
+                    get("/api/matches/ingest/" + id)
+                            .accept(MediaType.APPLICATION_JSON)
+            ).andExpectAll(
+                    status().isOk()
+            ).andReturn();
+
+            BaseResponse<MatchIngestionResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            if (!"queued".equals(response.getData().getStatus())) {
+                return response.getData();
+            }
+
+            Thread.sleep(50);
+        }
+
+        return fail("Ingestion did not complete.");
+    }
+
+}
@@ -0,0 +1,279 @@
+package matchapp.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.models.BaseResponse;
+import matchapp.models.MatchRequest;
+import matchapp.models.RatingResponse;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RatingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void finish() {
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRebuildSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(team1);
+        match.setAway(team2);
+        match.setHomeScore(0);
+        match.setAwayScore(3);
+        match.setDateTime(LocalDateTime.now().plusHours(2));
+        matchRepository.save(match);
+
+        mockMvc.perform(
+                post("/api/ratings/rebuild")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertNotNull(response.getMessage());
+        });
+
+        mockMvc.perform(
+                get("/api/ratings")
+                        .param("tournament", tournament.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<RatingResponse>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().size());
+            assertEquals(team2.getId(), response.getData().get(0).getTeam());
+            assertTrue(response.getData().get(0).getRating() > 1500);
+            assertEquals(1, response.getData().get(0).getPlayed());
+        });
+    }
+
+    @Test
+    void testUpdatedOnMatchCreate() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setHomeScore(2);
+        request.setAwayScore(1);
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/ratings")
+                        .param("tournament", tournament.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<RatingResponse>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().size());
+            assertEquals(team1.getId(), response.getData().get(0).getTeam());
+            assertEquals(1, response.getData().get(0).getRank());
+        });
+    }
+
+    @Test
+    void testRebuildFromLogSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setHomeScore(0);
+        request.setAwayScore(1);
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                post("/api/ratings/rebuild")
+                        .param("source", "log")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/ratings")
+                        .param("tournament", tournament.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<RatingResponse>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().size());
+            assertEquals(team2.getId(), response.getData().get(0).getTeam());
+            assertEquals("TEAM B", response.getData().get(0).getName());
+            assertEquals(1, response.getData().get(0).getPlayed());
+        });
+    }
+
+    @Test
+    void testRebuildFromLogSkipsDeletedTournament() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setHomeScore(2);
+        request.setAwayScore(1);
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                delete("/api/tournaments/" + tournament.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                post("/api/ratings/rebuild")
+                        .param("source", "log")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/ratings")
+                        .param("tournament", tournament.getId().toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<RatingResponse>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertTrue(response.getData().isEmpty());
+        });
+    }
+
+    @Test
+    void testInvalidLimit() throws Exception {
+        mockMvc.perform(
+                get("/api/ratings")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        );
+
+        mockMvc.perform(
+                get("/api/ratings")
+                        .param("limit", "401")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        );
+    }
+
+    private Tournament saveTournament() {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(true);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+}
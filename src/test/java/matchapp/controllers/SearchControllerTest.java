@@ -0,0 +1,125 @@
+package matchapp.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.Tournament;
+import matchapp.models.BaseResponse;
+import matchapp.models.SearchResult;
+import matchapp.models.TeamRequest;
+import matchapp.models.TournamentRequest;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void finish() {
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testSearchSuccess() throws Exception {
+        TournamentRequest tournamentRequest = new TournamentRequest();
+        tournamentRequest.setName("Quokka Invitational");
+        tournamentRequest.setLocation("Rottnest");
+        tournamentRequest.setStartDate(LocalDate.now());
+        tournamentRequest.setEndDate(LocalDate.now().plusDays(7));
+        tournamentRequest.setIsFull(true);
+
+        mockMvc.perform(
+                post("/api/tournaments")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tournamentRequest))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        Tournament tournament = tournamentRepository.findAll().get(0);
+
+        TeamRequest teamRequest = new TeamRequest();
+        teamRequest.setTournament(tournament.getId());
+        teamRequest.setName("Quokka United");
+
+        mockMvc.perform(
+                post("/api/teams")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(teamRequest))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        mockMvc.perform(
+                get("/api/search")
+                        .param("q", "okka")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<SearchResult>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().size());
+        });
+
+        mockMvc.perform(
+                get("/api/search")
+                        .param("q", "ro")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<SearchResult>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertTrue(response.getData().stream().anyMatch(item -> item.getId().equals(tournament.getId())));
+        });
+    }
+
+    @Test
+    void testSearchBadRequest() throws Exception {
+        mockMvc.perform(
+                get("/api/search")
+                        .param("q", " ")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Query must not be blank.", response.getMessage());
+        });
+    }
+
+}
@@ -0,0 +1,180 @@
+package matchapp.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.FeedVersion;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.models.BaseResponse;
+import matchapp.models.MatchRequest;
+import matchapp.models.SnapshotResponse;
+import matchapp.models.TeamRequest;
+import matchapp.repositories.FeedVersionRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import matchapp.services.RatingService;
+import matchapp.services.SnapshotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private FeedVersionRepository feedVersionRepository;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void finish() {
+        feedVersionRepository.deleteAllInBatch();
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testSaveSuccess() throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(true);
+        tournament = tournamentRepository.save(tournament);
+
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(team1.getId());
+        request.setAway(team2.getId());
+        request.setHomeScore(4);
+        request.setAwayScore(0);
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+        double rating = ratingService.ratingOf(team1.getId());
+
+        mockMvc.perform(
+                post("/api/snapshots")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<SnapshotResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertTrue(response.getData().getSections().contains("ratings"));
+            assertTrue(response.getData().getBytes() > 0);
+        });
+
+        assertTrue(snapshotService.restore());
+        assertEquals(rating, ratingService.ratingOf(team1.getId()));
+
+        saveTeam(tournament, "TEAM C");
+        assertFalse(snapshotService.restore());
+    }
+
+    @Test
+    void testRestoreRejectsRename() throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(true);
+        tournament = tournamentRepository.save(tournament);
+
+        Team team = saveTeam(tournament, "TEAM A");
+        snapshotService.save();
+        assertTrue(snapshotService.restore());
+
+        TeamRequest request = new TeamRequest();
+        request.setTournament(tournament.getId());
+        request.setName("TEAM B");
+
+        mockMvc.perform(
+                post("/api/teams/" + team.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+
+        assertFalse(snapshotService.restore());
+    }
+
+    @Test
+    void testRestoreRejectsWriteOfAnotherInstance() {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(true);
+        tournament = tournamentRepository.save(tournament);
+
+        snapshotService.save();
+        assertTrue(snapshotService.restore());
+
+        // Another instance's write leaves this instance's event log alone, but bumps the shared feed version.
+        feedVersionRepository.save(new FeedVersion(tournament.getId(), 1L));
+        assertFalse(snapshotService.restore());
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+}
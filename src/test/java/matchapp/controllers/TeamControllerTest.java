@@ -2,10 +2,14 @@ package matchapp.controllers;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.Match;
 import matchapp.entities.Team;
 import matchapp.entities.Tournament;
 import matchapp.models.BaseResponse;
+import matchapp.models.BatchResponse;
+import matchapp.models.HeadToHeadResponse;
 import matchapp.models.TeamRequest;
+import matchapp.repositories.MatchRepository;
 import matchapp.repositories.TeamRepository;
 import matchapp.repositories.TournamentRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -13,10 +17,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,13 +43,17 @@ class TeamControllerTest {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private MatchRepository matchRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @AfterEach
     void finish() {
-        teamRepository.deleteAll();
-        tournamentRepository.deleteAll();
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
     }
 
     @Test
@@ -259,4 +270,239 @@ class TeamControllerTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    void testHeadToHeadSuccess() throws Exception {
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(true);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        Team teamData1 = new Team();
+        teamData1.setId(UUID.randomUUID());
+        teamData1.setTournament(tournament);
+        teamData1.setName("TEAM A");
+        Team team1 = teamRepository.save(teamData1);
+
+        Team teamData2 = new Team();
+        teamData2.setId(UUID.randomUUID());
+        teamData2.setTournament(tournament);
+        teamData2.setName("TEAM B");
+        Team team2 = teamRepository.save(teamData2);
+
+        Match match1 = new Match();
+        match1.setId(UUID.randomUUID());
+        match1.setTournament(tournament);
+        match1.setHome(team1);
+        match1.setAway(team2);
+        match1.setDateTime(LocalDateTime.now().plusHours(2));
+        match1.setHomeScore(2);
+        match1.setAwayScore(1);
+        matchRepository.save(match1);
+
+        Match match2 = new Match();
+        match2.setId(UUID.randomUUID());
+        match2.setTournament(tournament);
+        match2.setHome(team2);
+        match2.setAway(team1);
+        match2.setDateTime(LocalDateTime.now().plusDays(2));
+        match2.setHomeScore(1);
+        match2.setAwayScore(1);
+        matchRepository.save(match2);
+
+        mockMvc.perform(
+                get("/api/teams/" + team2.getId() + "/head-to-head/" + team1.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<HeadToHeadResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().getPlayed());
+            assertEquals(0, response.getData().getWins());
+            assertEquals(1, response.getData().getDraws());
+            assertEquals(1, response.getData().getLosses());
+            assertEquals(2, response.getData().getGoalsFor());
+            assertEquals(3, response.getData().getGoalsAgainst());
+        });
+    }
+
+    @Test
+    void testHeadToHeadTeamNotFound() throws Exception {
+        mockMvc.perform(
+                get("/api/teams/" + UUID.randomUUID() + "/head-to-head/" + UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Team not found.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testFindByIdSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team = saveTeam(tournament, "TEAM A");
+
+        mockMvc.perform(
+                get("/api/teams/" + team.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<Team> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals("TEAM A", response.getData().getName());
+            assertEquals(tournament.getId(), response.getData().getTournament().getId());
+        });
+    }
+
+    @Test
+    void testFindByIdNotFound() throws Exception {
+        mockMvc.perform(
+                get("/api/teams/" + UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Team not found.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testFindAllByIdSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        UUID unknown = UUID.randomUUID();
+
+        mockMvc.perform(
+                get("/api/teams")
+                        .param("ids", team2.getId() + "," + unknown + "," + team1.getId() + "," + team2.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<BatchResponse<Team>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().getItems().size());
+            assertEquals(team2.getId(), response.getData().getItems().get(0).getId());
+            assertEquals(team1.getId(), response.getData().getItems().get(1).getId());
+            assertEquals(List.of(unknown), response.getData().getMissing());
+        });
+    }
+
+    @Test
+    void testFindAllByIdBadRequest() throws Exception {
+        mockMvc.perform(
+                get("/api/teams")
+                        .param("ids", "")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testCalendarSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        Team team3 = saveTeam(tournament, "TEAM C");
+
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(team1);
+        match.setAway(team2);
+        match.setHomeScore(2);
+        match.setAwayScore(1);
+        match.setDateTime(LocalDateTime.now().plusHours(2));
+        Match saved = matchRepository.save(match);
+
+        String eTag = mockMvc.perform(
+                get("/api/teams/" + team1.getId() + "/calendar.ics")
+        ).andExpectAll(
+                status().isOk(),
+                header().exists(HttpHeaders.ETAG)
+        ).andDo(result -> {
+            String calendar = result.getResponse().getContentAsString();
+            assertTrue(calendar.contains("X-WR-CALNAME:TEAM A\r\n"));
+            assertTrue(calendar.contains("SUMMARY:TEAM A 2-1 TEAM B\r\n"));
+            assertTrue(calendar.contains("UID:" + saved.getId() + "@matchapp\r\n"));
+        }).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                get("/api/teams/" + team3.getId() + "/calendar.ics")
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> assertFalse(result.getResponse().getContentAsString().contains("BEGIN:VEVENT")));
+
+        mockMvc.perform(
+                get("/api/teams/" + team1.getId() + "/calendar.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        ).andExpectAll(
+                status().isNotModified()
+        );
+
+        TeamRequest request = new TeamRequest();
+        request.setTournament(tournament.getId());
+        request.setName("TEAM Z");
+        mockMvc.perform(
+                post("/api/teams/" + team2.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpect(status().isOk());
+
+        mockMvc.perform(
+                get("/api/teams/" + team1.getId() + "/calendar.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> assertTrue(result.getResponse().getContentAsString().contains("SUMMARY:TEAM A 2-1 TEAM Z\r\n")));
+    }
+
+    @Test
+    void testCalendarNotFound() throws Exception {
+        mockMvc.perform(
+                get("/api/teams/" + UUID.randomUUID() + "/calendar.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*")
+        ).andExpectAll(
+                status().isNotFound(),
+                header().doesNotExist(HttpHeaders.CACHE_CONTROL),
+                header().doesNotExist(HttpHeaders.ETAG)
+        );
+    }
+
+    private Tournament saveTournament() {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament.setIsFull(true);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+}
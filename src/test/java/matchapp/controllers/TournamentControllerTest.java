@@ -2,28 +2,47 @@ package matchapp.controllers;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.FeedVersion;
+import matchapp.entities.Match;
+import matchapp.entities.Team;
 import matchapp.entities.Tournament;
 import matchapp.models.BaseResponse;
+import matchapp.models.BatchResponse;
+import matchapp.models.MatchRequest;
+import matchapp.models.SimulationResponse;
+import matchapp.models.SwissRoundRequest;
+import matchapp.models.SwissRoundResponse;
+import matchapp.models.TeamPageResponse;
+import matchapp.models.TiebreakerRequest;
+import matchapp.models.TiebreakerStanding;
 import matchapp.models.TournamentByIdResponse;
 import matchapp.models.TournamentRequest;
+import matchapp.repositories.FeedVersionRepository;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
 import matchapp.repositories.TournamentRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "matchapp.tournament.delete-chunk-size=2")
 @AutoConfigureMockMvc
 class TournamentControllerTest {
 
@@ -33,12 +52,24 @@ class TournamentControllerTest {
     @Autowired
     private TournamentRepository tournamentRepository;
 
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private FeedVersionRepository feedVersionRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @AfterEach
     void finish() {
-        tournamentRepository.deleteAll();
+        feedVersionRepository.deleteAllInBatch();
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
     }
 
     @Test
@@ -176,6 +207,281 @@ class TournamentControllerTest {
         });
     }
 
+    @Test
+    void testFindAllFieldsSuccess() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            Tournament tournament = new Tournament();
+            tournament.setId(UUID.randomUUID());
+            tournament.setName("TEST " + i);
+            tournament.setLocation("TEST");
+            tournament.setStartDate(LocalDate.now());
+            tournament.setEndDate(LocalDate.now().plusDays(1));
+            tournament.setIsFull(true);
+            tournamentRepository.save(tournament);
+        }
+
+        mockMvc.perform(
+                get("/api/tournaments")
+                        .param("fields", "id,name")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<Map<String, Object>>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().size());
+            assertEquals(Set.of("id", "name"), response.getData().get(0).keySet());
+        });
+    }
+
+    @Test
+    void testFindAllByIdSuccess() throws Exception {
+        Tournament first = null;
+        Tournament second = null;
+        for (int i = 0; i < 2; i++) {
+            Tournament tournament = new Tournament();
+            tournament.setId(UUID.randomUUID());
+            tournament.setName("TEST " + i);
+            tournament.setLocation("TEST");
+            tournament.setStartDate(LocalDate.now());
+            tournament.setEndDate(LocalDate.now().plusDays(1));
+            tournament.setIsFull(true);
+            second = first;
+            first = tournamentRepository.save(tournament);
+        }
+        UUID unknown = UUID.randomUUID();
+        UUID firstId = first.getId();
+        UUID secondId = second.getId();
+
+        mockMvc.perform(
+                get("/api/tournaments")
+                        .param("ids", firstId + "," + unknown + "," + secondId)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<BatchResponse<Tournament>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(List.of(firstId, secondId), response.getData().getItems().stream().map(Tournament::getId).toList());
+            assertEquals(List.of(unknown), response.getData().getMissing());
+        });
+    }
+
+    @Test
+    void testFindByIdFieldsSuccess() throws Exception {
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(1));
+        tournamentData.setIsFull(true);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+        saveTeam(tournament, "TEAM A");
+        saveTeam(tournament, "TEAM B");
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId())
+                        .param("fields", "name,teams.name")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<Map<String, Object>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(Set.of("name", "teams"), response.getData().keySet());
+            assertEquals("TEST", response.getData().get("name"));
+            List<?> teams = (List<?>) response.getData().get("teams");
+            assertEquals(2, teams.size());
+            assertEquals(Set.of("name"), ((Map<?, ?>) teams.get(0)).keySet());
+        });
+    }
+
+    @Test
+    void testFindByIdFieldsBadRequest() throws Exception {
+        mockMvc.perform(
+                get("/api/tournaments/" + UUID.randomUUID())
+                        .param("fields", "name,secret")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertNotNull(response.getMessage());
+        });
+    }
+
+    @Test
+    void testFindByIdWithoutTeamsSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        saveTeam(tournament, "TEAM A");
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId())
+                        .param("teams", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<TournamentByIdResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(tournament.getName(), response.getData().getName());
+            assertNull(response.getData().getTeams());
+        });
+    }
+
+    @Test
+    void testFindTeamsPagesSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        for (String name : List.of("DELTA", "ALPHA", "ECHO", "CHARLIE", "BRAVO")) {
+            saveTeam(tournament, name);
+        }
+
+        List<String> names = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            var request = get("/api/tournaments/" + tournament.getId() + "/teams")
+                    .param("limit", "2")
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (after != null) {
+                request.param("after", after);
+            }
+
+            String content = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            BaseResponse<TeamPageResponse> response = objectMapper.readValue(content, new TypeReference<>() {
+            });
+            assertTrue(response.getData().getTeams().size() <= 2);
+            response.getData().getTeams().forEach(team -> names.add(team.getName()));
+            after = response.getData().getNext();
+            pages++;
+        } while (after != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("ALPHA", "BRAVO", "CHARLIE", "DELTA", "ECHO"), names);
+    }
+
+    @Test
+    void testFindTeamsPrefixSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        for (String name : List.of("RED LIONS", "RED_FOXES", "REDWOOD", "BLUE JAYS")) {
+            saveTeam(tournament, name);
+        }
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/teams")
+                        .param("prefix", "RED_")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<TeamPageResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(1, response.getData().getTeams().size());
+            assertEquals("RED_FOXES", response.getData().getTeams().get(0).getName());
+            assertNull(response.getData().getNext());
+        });
+    }
+
+    @Test
+    void testFindTeamsBadRequest() throws Exception {
+        Tournament tournament = saveTournament();
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/teams")
+                        .param("after", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testCalendarSuccess() throws Exception {
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        Team team3 = saveTeam(tournament, "TEAM C");
+        createMatch(tournament, team1, team2, 2);
+
+        String eTag = mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/calendar.ics")
+        ).andExpectAll(
+                status().isOk(),
+                header().string(HttpHeaders.CONTENT_TYPE, "text/calendar;charset=UTF-8"),
+                header().exists(HttpHeaders.ETAG),
+                header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public")
+        ).andDo(result -> {
+            String calendar = result.getResponse().getContentAsString();
+            assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\n"));
+            assertTrue(calendar.contains("X-WR-CALNAME:TEST\r\n"));
+            assertTrue(calendar.contains("SUMMARY:TEAM A vs TEAM B\r\n"));
+            assertTrue(calendar.endsWith("END:VCALENDAR\r\n"));
+        }).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/calendar.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        ).andExpectAll(
+                status().isNotModified(),
+                content().string("")
+        );
+
+        createMatch(tournament, team3, team1, 6);
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/calendar.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            assertNotEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
+            assertEquals(2, result.getResponse().getContentAsString().split("BEGIN:VEVENT").length - 1);
+        });
+    }
+
+    @Test
+    void testCalendarETagFollowsFeedVersion() throws Exception {
+        Tournament tournament = saveTournament();
+
+        String eTag = mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/calendar.ics")
+        ).andExpect(
+                status().isOk()
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // A write committed by another instance is only seen through the stored version.
+        feedVersionRepository.save(new FeedVersion(tournament.getId(), 7L));
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/calendar.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        ).andExpectAll(
+                status().isOk(),
+                header().string(HttpHeaders.ETAG, "\"7\"")
+        );
+    }
+
+    @Test
+    void testCalendarNotFound() throws Exception {
+        mockMvc.perform(
+                get("/api/tournaments/" + UUID.randomUUID() + "/calendar.ics")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*")
+        ).andExpectAll(
+                status().isNotFound(),
+                header().doesNotExist(HttpHeaders.CACHE_CONTROL),
+                header().doesNotExist(HttpHeaders.ETAG)
+        );
+    }
+
     @Test
     void testUpdateBadRequest() throws Exception {
         TournamentRequest request = new TournamentRequest();
@@ -291,4 +597,300 @@ class TournamentControllerTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    void testDeleteSuccess() throws Exception {
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(false);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        Team team3 = saveTeam(tournament, "TEAM C");
+
+        saveMatch(tournament, team1, team2, 2, 0, LocalDateTime.now().plusDays(1));
+        saveMatch(tournament, team2, team3, 1, 0, LocalDateTime.now().plusDays(2));
+        saveMatch(tournament, team3, team1, null, null, LocalDateTime.now().plusDays(3));
+
+        mockMvc.perform(
+                delete("/api/tournaments/" + tournament.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertNotNull(response.getMessage());
+        });
+
+        assertFalse(tournamentRepository.existsById(tournament.getId()));
+        assertEquals(0, teamRepository.count());
+        assertEquals(0, matchRepository.count());
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        );
+    }
+
+    @Test
+    void testDeleteNotFound() throws Exception {
+        mockMvc.perform(
+                delete("/api/tournaments/" + UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertNotNull(response.getMessage());
+        });
+    }
+
+    @Test
+    void testTiebreakSuccess() throws Exception {
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(false);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        Team team3 = saveTeam(tournament, "TEAM C");
+
+        saveMatch(tournament, team1, team2, 2, 0, LocalDateTime.now().plusDays(1));
+        saveMatch(tournament, team2, team3, 1, 0, LocalDateTime.now().plusDays(2));
+        saveMatch(tournament, team3, team1, 1, 0, LocalDateTime.now().plusDays(3));
+
+        TiebreakerRequest request = new TiebreakerRequest();
+        request.setTeams(List.of(team2.getId(), team3.getId(), team1.getId()));
+
+        mockMvc.perform(
+                post("/api/tournaments/" + tournament.getId() + "/tiebreakers")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<TiebreakerStanding>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(team1.getId(), response.getData().get(0).getTeam());
+            assertEquals(team3.getId(), response.getData().get(1).getTeam());
+            assertEquals(team2.getId(), response.getData().get(2).getTeam());
+            assertEquals(3, response.getData().get(2).getRank());
+        });
+    }
+
+    @Test
+    void testTiebreakNotFound() throws Exception {
+        TiebreakerRequest request = new TiebreakerRequest();
+        request.setTeams(List.of(UUID.randomUUID()));
+
+        mockMvc.perform(
+                post("/api/tournaments/" + UUID.randomUUID() + "/tiebreakers")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isNotFound()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Tournament not found.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testSwissRoundSuccess() throws Exception {
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(false);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        Team team3 = saveTeam(tournament, "TEAM C");
+        Team team4 = saveTeam(tournament, "TEAM D");
+        Team team5 = saveTeam(tournament, "TEAM E");
+
+        saveMatch(tournament, team1, team2, 2, 0, LocalDateTime.now().plusDays(1));
+        saveMatch(tournament, team3, team4, 1, 0, LocalDateTime.now().plusDays(1));
+
+        SwissRoundRequest request = new SwissRoundRequest();
+        request.setDateTime(LocalDateTime.now().plusDays(2));
+
+        mockMvc.perform(
+                post("/api/tournaments/" + tournament.getId() + "/swiss/rounds")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<SwissRoundResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(2, response.getData().getRound());
+            assertEquals(2, response.getData().getPairings().size());
+            assertEquals(Set.of(team1.getId(), team3.getId()), Set.of(response.getData().getPairings().get(0).getHome(), response.getData().getPairings().get(0).getAway()));
+            assertNotEquals(team5.getId(), response.getData().getBye());
+            assertFalse(response.getData().getPairings().get(1).getRematch());
+            assertNotNull(response.getData().getPairings().get(0).getMatch());
+        });
+
+        assertEquals(4, matchRepository.count());
+    }
+
+    @Test
+    void testSwissRoundNotFinished() throws Exception {
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(false);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        saveMatch(tournament, team1, team2, null, null, LocalDateTime.now().plusDays(1));
+
+        SwissRoundRequest request = new SwissRoundRequest();
+        request.setDateTime(LocalDateTime.now().plusDays(2));
+
+        mockMvc.perform(
+                post("/api/tournaments/" + tournament.getId() + "/swiss/rounds")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isConflict()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertEquals("Previous round is not finished.", response.getMessage());
+        });
+    }
+
+    @Test
+    void testSimulateSuccess() throws Exception {
+        Tournament tournamentData = new Tournament();
+        tournamentData.setId(UUID.randomUUID());
+        tournamentData.setName("TEST");
+        tournamentData.setLocation("TEST");
+        tournamentData.setStartDate(LocalDate.now());
+        tournamentData.setEndDate(LocalDate.now().plusDays(7));
+        tournamentData.setIsFull(false);
+        Tournament tournament = tournamentRepository.save(tournamentData);
+
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+        Team team3 = saveTeam(tournament, "TEAM C");
+
+        saveMatch(tournament, team1, team2, 6, 0, LocalDateTime.now().plusDays(1));
+        saveMatch(tournament, team1, team3, 6, 0, LocalDateTime.now().plusDays(2));
+        saveMatch(tournament, team2, team3, null, null, LocalDateTime.now().plusDays(3));
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId() + "/simulation")
+                        .param("runs", "10000")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<SimulationResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(10000, response.getData().getRuns());
+            assertEquals(1, response.getData().getRemainingMatches());
+            assertEquals(team1.getId(), response.getData().getStandings().get(0).getTeam());
+            assertEquals(1.0, response.getData().getStandings().get(0).getPositions().get(0));
+            response.getData().getStandings().forEach(standing ->
+                    assertEquals(1.0, standing.getPositions().stream().mapToDouble(Double::doubleValue).sum(), 1e-9));
+        });
+    }
+
+    @Test
+    void testSimulateBadRequest() throws Exception {
+        mockMvc.perform(
+                get("/api/tournaments/" + UUID.randomUUID() + "/simulation")
+                        .param("runs", "0")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            BaseResponse<String> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("error", response.getStatus());
+            assertNotNull(response.getMessage());
+        });
+    }
+
+    private void createMatch(Tournament tournament, Team home, Team away, int hours) throws Exception {
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(home.getId());
+        request.setAway(away.getId());
+        request.setDateTime(LocalDateTime.now().plusHours(hours));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpect(status().isOk());
+    }
+
+    private Tournament saveTournament() {
+        Tournament tournament = new Tournament();
+        tournament.setId(UUID.randomUUID());
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(false);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+    private Match saveMatch(Tournament tournament, Team home, Team away, Integer homeScore, Integer awayScore, LocalDateTime dateTime) {
+        Match match = new Match();
+        match.setId(UUID.randomUUID());
+        match.setTournament(tournament);
+        match.setHome(home);
+        match.setAway(away);
+        match.setHomeScore(homeScore);
+        match.setAwayScore(awayScore);
+        match.setDateTime(dateTime);
+        return matchRepository.save(match);
+    }
+
+}
@@ -0,0 +1,77 @@
+package matchapp.errors;
+
+import matchapp.models.BaseResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the old and new 409 error paths: throw through a request-sized stack, catch, build the response.
+ * Excluded from the default build; run with {@code mvn test -Dgroups=benchmark -DexcludedGroups=}.
+ */
+@Tag("benchmark")
+class DomainErrorBenchmarkTest {
+
+    private static final int DEPTH = 120;
+
+    private static final int WARMUP = 50_000;
+
+    private static final int ITERATIONS = 500_000;
+
+    private static long sink;
+
+    @Test
+    void benchmarkErrorPath() {
+        Supplier<ResponseEntity<BaseResponse<String>>> legacy = () -> {
+            try {
+                throwAt(DEPTH, () -> new ResponseStatusException(HttpStatus.CONFLICT, "Match already exists."));
+                return null;
+            } catch (ResponseStatusException exception) {
+                return ResponseEntity.status(exception.getStatusCode())
+                        .body(BaseResponse.<String>builder().status("error").message(exception.getReason()).build());
+            }
+        };
+        Supplier<ResponseEntity<BaseResponse<String>>> domain = () -> {
+            try {
+                throwAt(DEPTH, DomainError.MATCH_EXISTS::exception);
+                return null;
+            } catch (DomainException exception) {
+                return exception.getError().getResponse();
+            }
+        };
+
+        assertEquals(legacy.get().getBody(), domain.get().getBody());
+        assertEquals(legacy.get().getStatusCode(), domain.get().getStatusCode());
+
+        double legacyNanos = measure(legacy);
+        double domainNanos = measure(domain);
+        System.out.printf("ResponseStatusException: %.0f ns/op, DomainException: %.0f ns/op (%.1fx)%n",
+                legacyNanos, domainNanos, legacyNanos / domainNanos);
+        assertTrue(domainNanos < legacyNanos);
+    }
+
+    private static double measure(Supplier<ResponseEntity<BaseResponse<String>>> path) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink += path.get().getStatusCode().value();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += path.get().getStatusCode().value();
+        }
+        return (double) (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static void throwAt(int depth, Supplier<? extends RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+}
@@ -0,0 +1,144 @@
+package matchapp.filters;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.models.BaseResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.security.Principal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = "matchapp.admission.per-address=true")
+@AutoConfigureMockMvc
+class AdmissionFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testRateLimited() throws Exception {
+        String user = UUID.randomUUID().toString();
+        Principal principal = () -> user;
+
+        MvcResult rejected = null;
+        for (int attempt = 0; attempt < 1000 && rejected == null; attempt++) {
+            MvcResult result = mockMvc.perform(
+                    get("/api/matches/ingest/stats")
+                            .principal(principal)
+                            .accept(MediaType.APPLICATION_JSON)
+            ).andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                rejected = result;
+            }
+        }
+
+        assertNotNull(rejected);
+        assertNotNull(rejected.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        BaseResponse<String> response = objectMapper.readValue(rejected.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals("error", response.getStatus());
+        assertEquals("Too many requests.", response.getMessage());
+    }
+
+    @Test
+    void testRateLimitIsPerClient() throws Exception {
+        String user = UUID.randomUUID().toString();
+        Principal principal = () -> user;
+
+        MvcResult result = mockMvc.perform(
+                get("/api/matches/ingest/stats")
+                        .principal(principal)
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+    }
+
+    @Test
+    void testRateLimitIgnoresHeaders() throws Exception {
+        MvcResult rejected = null;
+        for (int attempt = 0; attempt < 1000 && rejected == null; attempt++) {
+            MvcResult result = mockMvc.perform(
+                    get("/api/matches/ingest/stats")
+                            .with(request -> {
+                                request.setRemoteAddr("192.0.2.1");
+                                return request;
+                            })
+                            .header("X-API-Key", UUID.randomUUID().toString())
+                            .accept(MediaType.APPLICATION_JSON)
+            ).andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                rejected = result;
+            }
+        }
+
+        assertNotNull(rejected);
+    }
+
+    @Test
+    void testClientBucketsAreBounded() {
+        ClientBuckets buckets = new ClientBuckets(32, 1, 1);
+
+        assertTrue(buckets.get("ip:first", 0L).tryAcquire(0L));
+        assertFalse(buckets.get("ip:first", 0L).tryAcquire(0L));
+        for (int client = 0; client < 10_000; client++) {
+            buckets.get("ip:" + client, 0L);
+        }
+
+        assertTrue(buckets.size() <= 32);
+        assertTrue(buckets.get("ip:first", 0L).tryAcquire(0L));
+    }
+
+    @Test
+    void testTokenBucket() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0L);
+
+        assertTrue(bucket.tryAcquire(0L));
+        assertTrue(bucket.tryAcquire(0L));
+        assertFalse(bucket.tryAcquire(0L));
+        assertTrue(bucket.tryAcquire(1_000_000_000L));
+    }
+
+    @Test
+    void testConcurrencyLimiter() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 4, 1_000L, 1, 0.9);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(10_000L);
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void testConcurrencyLimiterIgnoresOutliers() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 8, 1_000L, 10, 0.9);
+
+        for (int request = 0; request < 10; request++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(request == 0 ? 10_000L : 100L);
+        }
+        assertEquals(4, limiter.getLimit());
+
+        for (int request = 0; request < 10; request++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(request < 2 ? 10_000L : 100L);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+}
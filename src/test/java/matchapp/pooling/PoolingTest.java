@@ -0,0 +1,70 @@
+package matchapp.pooling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import matchapp.repositories.TournamentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "matchapp.pools.enabled=true",
+        "matchapp.event-log.enabled=false",
+        "matchapp.snapshot.enabled=false"
+})
+@Tag("database")
+class PoolingTest {
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testReadOnlyTransactionUsesReadPool() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        assertUsesPool("matchapp-read", () -> transactionTemplate.execute(status -> tournamentRepository.count()));
+    }
+
+    @Test
+    void testWriteTransactionUsesWritePool() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        assertUsesPool("matchapp-write", () -> transactionTemplate.execute(status -> tournamentRepository.count()));
+    }
+
+    @Test
+    void testBulkWorkUsesBulkPool() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        assertUsesPool("matchapp-bulk", () -> WorkloadContext.bulk(() -> transactionTemplate.execute(status -> tournamentRepository.count())));
+    }
+
+    private void assertUsesPool(String pool, Runnable work) {
+        long before = usages(pool);
+        long others = usages("matchapp-read") + usages("matchapp-write") + usages("matchapp-bulk") - before;
+
+        work.run();
+
+        assertEquals(before + 1, usages(pool));
+        assertEquals(others, usages("matchapp-read") + usages("matchapp-write") + usages("matchapp-bulk") - usages(pool));
+    }
+
+    private long usages(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+}
@@ -0,0 +1,185 @@
+package matchapp.repositories.memory;
+
+import matchapp.entities.Match;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("memory")
+class InMemoryRepositoryTest {
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void finish() {
+        matchRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testIndexesFollowUpdates() {
+        assertInstanceOf(InMemoryTeamRepository.class, teamRepository);
+
+        Tournament tournament = saveTournament();
+        Team team1 = saveTeam(tournament, "TEAM A");
+        Team team2 = saveTeam(tournament, "TEAM B");
+
+        Match match = new Match();
+        match.setTournament(tournament);
+        match.setHome(team1);
+        match.setAway(team2);
+        match.setDateTime(LocalDateTime.now().plusDays(1));
+        matchRepository.save(match);
+
+        team1.setName("TEAM C");
+        teamRepository.save(team1);
+
+        assertFalse(teamRepository.existsByTournamentAndName(tournament, "TEAM A"));
+        assertTrue(teamRepository.existsByTournamentAndName(tournament, "TEAM C"));
+        assertTrue(matchRepository.existsByHomeAndAway(team1, team2));
+        assertFalse(matchRepository.existsByHomeAndAway(team2, team1));
+
+        List<Match> calendar = matchRepository.findCalendarByAway(LocalDate.now().atStartOfDay(), LocalDate.now().plusDays(2).atStartOfDay(), team2.getId());
+        assertEquals(1, calendar.size());
+        assertEquals("TEAM C", calendar.get(0).getHome().getName());
+
+        match.setHomeScore(1);
+        match.setAwayScore(0);
+        matchRepository.save(match);
+        assertEquals(1, matchRepository.countByHomeScoreNotNullAndAwayScoreNotNull());
+        assertEquals(1, matchRepository.findByHomeScoreNotNullAndAwayScoreNotNullOrderByDateTime().size());
+    }
+
+    @Test
+    void testRollbackUndoesWrites() {
+        Tournament kept = saveTournament();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TransactionTemplate independent = new TransactionTemplate(transactionManager);
+        independent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Tournament committed = new Tournament();
+        transactionTemplate.executeWithoutResult(status -> {
+            saveTeam(kept, "TEAM A");
+            kept.setName("RENAMED");
+            tournamentRepository.save(kept);
+            tournamentRepository.delete(kept);
+            independent.executeWithoutResult(inner -> {
+                committed.setName("COMMITTED");
+                committed.setLocation("TEST");
+                committed.setStartDate(LocalDate.now());
+                committed.setEndDate(LocalDate.now());
+                committed.setIsFull(false);
+                tournamentRepository.save(committed);
+            });
+            status.setRollbackOnly();
+        });
+
+        assertEquals("TEST", tournamentRepository.findById(kept.getId()).orElseThrow().getName());
+        assertTrue(tournamentRepository.existsById(committed.getId()));
+        assertEquals(0, teamRepository.findByTournament(kept).size());
+    }
+
+    @Test
+    void testRollbackKeepsLaterWrite() {
+        Tournament tournament = saveTournament();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TransactionTemplate independent = new TransactionTemplate(transactionManager);
+        independent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tournament.setName("ROLLED BACK");
+            tournamentRepository.save(tournament);
+            independent.executeWithoutResult(inner -> {
+                Tournament later = tournamentRepository.findById(tournament.getId()).orElseThrow();
+                later.setName("COMMITTED");
+                tournamentRepository.save(later);
+            });
+            status.setRollbackOnly();
+        });
+
+        assertEquals("COMMITTED", tournamentRepository.findById(tournament.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testQueryByExample() {
+        Tournament tournament = saveTournament();
+        Tournament other = saveTournament();
+        other.setName("OTHER CUP");
+        tournamentRepository.save(other);
+        saveTeam(tournament, "TEAM A");
+        saveTeam(other, "TEAM B");
+
+        Tournament probe = new Tournament();
+        probe.setName("TEST");
+        assertEquals(tournament.getId(), tournamentRepository.findOne(Example.of(probe)).orElseThrow().getId());
+        assertEquals(1, tournamentRepository.count(Example.of(probe)));
+
+        probe.setName("cup");
+        ExampleMatcher containing = ExampleMatcher.matching().withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING).withIgnoreCase();
+        assertEquals(other.getId(), tournamentRepository.findOne(Example.of(probe, containing)).orElseThrow().getId());
+
+        probe.setName("NONE");
+        assertFalse(tournamentRepository.exists(Example.of(probe)));
+
+        probe.setName(null);
+        probe.setIsFull(false);
+        assertEquals(2, tournamentRepository.findAll(Example.of(probe)).size());
+
+        Team byTournament = new Team();
+        byTournament.setTournament(new Tournament());
+        byTournament.getTournament().setName("OTHER CUP");
+        List<Team> teams = teamRepository.findAll(Example.of(byTournament));
+        assertEquals(1, teams.size());
+        assertEquals("TEAM B", teams.get(0).getName());
+    }
+
+    private Tournament saveTournament() {
+        Tournament tournament = new Tournament();
+        tournament.setName("TEST");
+        tournament.setLocation("TEST");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(7));
+        tournament.setIsFull(false);
+        return tournamentRepository.save(tournament);
+    }
+
+    private Team saveTeam(Tournament tournament, String name) {
+        Team team = new Team();
+        team.setTournament(tournament);
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+}
@@ -0,0 +1,52 @@
+package matchapp.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketTest {
+
+    @Test
+    void testRollbackUndoesAdvance() {
+        List<UUID> seeds = new ArrayList<>();
+        for (int i = 0; i < 4_096; i++) {
+            seeds.add(UUID.randomUUID());
+        }
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        Bracket bracket = new Bracket(UUID.randomUUID(), UUID.randomUUID(), Bracket.SINGLE, seeds, start, Duration.ofDays(1), 0);
+        for (int node : bracket.start()) {
+            bracket.scheduled(node, UUID.randomUUID());
+        }
+
+        UUID first = bracket.matches[0];
+        UUID second = bracket.matches[1];
+        bracket.record(first, bracket.home(0), bracket.away(0), start);
+
+        bracket.begin();
+        List<Integer> ready = bracket.record(second, bracket.home(1), bracket.away(1), start);
+        assertEquals(List.of(bracket.winnerTo[0] / 2), ready);
+        bracket.scheduled(ready.get(0), UUID.randomUUID());
+        bracket.rollback();
+
+        int next = bracket.winnerTo[1] / 2;
+        assertFalse(bracket.decided[1]);
+        assertNull(bracket.winners[1]);
+        assertNull(bracket.matches[next]);
+        assertNull(bracket.away(next));
+        assertEquals(bracket.home(0), bracket.home(next));
+        assertEquals(2_048, bracket.nodeByMatch.size());
+
+        bracket.begin();
+        assertEquals(ready, bracket.record(second, bracket.away(1), bracket.home(1), start));
+        bracket.commit(1);
+        assertEquals(1, bracket.revision);
+        assertEquals(bracket.away(1), bracket.winners[1]);
+    }
+
+}
@@ -0,0 +1,123 @@
+package matchapp.services;
+
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.repositories.MatchAdmission;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the admission checks of match creation against a database one simulated network round trip away: the
+ * five sequential lookups it used to make against the single admission query.
+ * Excluded from the default build; run with {@code mvn test -Dgroups=benchmark -DexcludedGroups=}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=matchapp.services.MatchAdmissionBenchmarkTest$RemoteRoundTrip",
+        "matchapp.event-log.enabled=false",
+        "matchapp.snapshot.enabled=false"
+})
+@Tag("benchmark")
+class MatchAdmissionBenchmarkTest {
+
+    private static final long ROUND_TRIP_NANOS = 1_000_000;
+
+    private static final int WARMUP = 200;
+
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        teamRepository.deleteAllInBatch();
+        tournamentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void benchmarkAdmission() {
+        Tournament tournament = tournamentRepository.save(new Tournament(UUID.randomUUID(), "TEST", "TEST",
+                LocalDate.now(), LocalDate.now().plusDays(7), false));
+        Team home = teamRepository.save(new Team(UUID.randomUUID(), tournament, "TEAM A"));
+        Team away = teamRepository.save(new Team(UUID.randomUUID(), tournament, "TEAM B"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Runnable sequential = () -> transactionTemplate.executeWithoutResult(status -> {
+            tournamentRepository.findById(tournament.getId()).orElseThrow();
+            Team foundHome = teamRepository.findById(home.getId()).orElseThrow();
+            Team foundAway = teamRepository.findById(away.getId()).orElseThrow();
+            assertFalse(matchRepository.existsByHomeAndAway(foundHome, foundAway));
+            assertFalse(matchRepository.existsByHomeAndAway(foundAway, foundHome));
+        });
+        Runnable single = () -> transactionTemplate.executeWithoutResult(status -> {
+            MatchAdmission admission = matchRepository.findAdmission(tournament.getId(), home.getId(), away.getId()).orElseThrow();
+            assertEquals(home.getId(), admission.home().getId());
+            assertEquals(away.getId(), admission.away().getId());
+            assertFalse(admission.homeAwayExists() || admission.awayHomeExists());
+        });
+
+        long[] sequentialNanos = measure(sequential);
+        long[] singleNanos = measure(single);
+        System.out.printf("Sequential lookups: p50 %.2f ms, p99 %.2f ms; admission query: p50 %.2f ms, p99 %.2f ms%n",
+                percentile(sequentialNanos, 50) / 1e6, percentile(sequentialNanos, 99) / 1e6,
+                percentile(singleNanos, 50) / 1e6, percentile(singleNanos, 99) / 1e6);
+        assertTrue(percentile(singleNanos, 99) < percentile(sequentialNanos, 99));
+    }
+
+    private static long[] measure(Runnable admission) {
+        for (int i = 0; i < WARMUP; i++) {
+            admission.run();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            admission.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    /**
+     * Charges every statement Hibernate sends one round trip, as if the database were across a network.
+     */
+    public static class RemoteRoundTrip implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return sql;
+        }
+
+    }
+
+}
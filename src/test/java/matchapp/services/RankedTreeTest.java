@@ -0,0 +1,55 @@
+package matchapp.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedTreeTest {
+
+    @Test
+    void testMatchesSortedList() {
+        Random random = new Random(42);
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.reverseOrder());
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            Integer value = random.nextInt(2_000);
+            if (expected.contains(value)) {
+                assertTrue(tree.remove(value));
+                expected.remove(value);
+            } else {
+                tree.add(value);
+                expected.add(value);
+            }
+            expected.sort(Comparator.reverseOrder());
+
+            if (i % 100 == 0) {
+                assertEquals(expected.size(), tree.size());
+                assertEquals(expected.subList(0, Math.min(25, expected.size())), tree.first(25));
+                for (int rank = 0; rank < expected.size(); rank += 17) {
+                    assertEquals(rank, tree.rank(expected.get(rank)));
+                }
+            }
+        }
+
+        assertEquals(expected, tree.first(Integer.MAX_VALUE));
+        assertEquals(-1, tree.rank(-1));
+        assertFalse(tree.remove(-1));
+    }
+
+    @Test
+    void testEmpty() {
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.naturalOrder());
+
+        assertEquals(0, tree.size());
+        assertEquals(Collections.emptyList(), tree.first(10));
+        assertEquals(-1, tree.rank(1));
+    }
+
+}
@@ -0,0 +1,184 @@
+package matchapp.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import matchapp.entities.Team;
+import matchapp.entities.Tournament;
+import matchapp.models.BaseResponse;
+import matchapp.models.MatchRequest;
+import matchapp.models.TeamRequest;
+import matchapp.models.TournamentByIdResponse;
+import matchapp.models.TournamentRequest;
+import matchapp.repositories.MatchRepository;
+import matchapp.repositories.TeamRepository;
+import matchapp.repositories.TournamentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "matchapp.sharding.enabled=true",
+        "matchapp.sharding.shards[0].url=jdbc:h2:mem:shard0;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:sharding-schema.sql'",
+        "matchapp.sharding.shards[0].driver-class-name=org.h2.Driver",
+        "matchapp.sharding.shards[0].username=sa",
+        "matchapp.sharding.shards[1].url=jdbc:h2:mem:shard1;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:sharding-schema.sql'",
+        "matchapp.sharding.shards[1].driver-class-name=org.h2.Driver",
+        "matchapp.sharding.shards[1].username=sa",
+        "matchapp.sharding.shards[2].url=jdbc:h2:mem:shard2;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:sharding-schema.sql'",
+        "matchapp.sharding.shards[2].driver-class-name=org.h2.Driver",
+        "matchapp.sharding.shards[2].username=sa",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "matchapp.event-log.enabled=false",
+        "matchapp.snapshot.enabled=false"
+})
+@AutoConfigureMockMvc
+@Tag("database")
+class ShardingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void finish() {
+        for (int shard = 0; shard < shardRouter.count(); shard++) {
+            shardRouter.on(shard, () -> {
+                matchRepository.deleteAllInBatch();
+                teamRepository.deleteAllInBatch();
+                tournamentRepository.deleteAllInBatch();
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void testFindAllGathersEveryShard() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            createTournament("TEST " + i);
+        }
+
+        mockMvc.perform(
+                get("/api/tournaments")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<List<Tournament>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals("success", response.getStatus());
+            assertEquals(12, response.getData().size());
+        });
+
+        int used = 0;
+        for (int shard = 0; shard < shardRouter.count(); shard++) {
+            int target = shard;
+            List<Tournament> tournaments = shardRouter.on(shard, tournamentRepository::findAll);
+            tournaments.forEach(tournament -> assertEquals(target, shardRouter.shardOf(tournament.getId())));
+            used += tournaments.isEmpty() ? 0 : 1;
+        }
+        assertTrue(used > 1);
+    }
+
+    @Test
+    void testTeamsAndMatchesFollowTheirTournament() throws Exception {
+        createTournament("TEST");
+        Tournament tournament = shardRouter.scatter(tournamentRepository::findAll).get(0);
+        int shard = shardRouter.shardOf(tournament.getId());
+
+        createTeam(tournament.getId(), "TEAM A");
+        createTeam(tournament.getId(), "TEAM B");
+        List<Team> teams = shardRouter.on(shard, () -> teamRepository.findByTournament(tournament));
+        assertEquals(2, teams.size());
+        teams.forEach(team -> assertEquals(shard, shardRouter.shardOf(team.getId())));
+
+        MatchRequest request = new MatchRequest();
+        request.setTournament(tournament.getId());
+        request.setHome(teams.get(0).getId());
+        request.setAway(teams.get(1).getId());
+        request.setDateTime(LocalDateTime.now().plusHours(2));
+
+        mockMvc.perform(
+                post("/api/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+        assertEquals(1L, (long) shardRouter.on(shard, matchRepository::count));
+        assertEquals(1L, shardRouter.sum(matchRepository::count));
+
+        mockMvc.perform(
+                get("/api/tournaments/" + tournament.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            BaseResponse<TournamentByIdResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(2, response.getData().getTeams().size());
+        });
+    }
+
+    private void createTournament(String name) throws Exception {
+        TournamentRequest request = new TournamentRequest();
+        request.setName(name);
+        request.setLocation("TEST");
+        request.setStartDate(LocalDate.now());
+        request.setEndDate(LocalDate.now().plusDays(7));
+        request.setIsFull(false);
+
+        mockMvc.perform(
+                post("/api/tournaments")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+    }
+
+    private void createTeam(UUID tournament, String name) throws Exception {
+        TeamRequest request = new TeamRequest();
+        request.setTournament(tournament);
+        request.setName(name);
+
+        mockMvc.perform(
+                post("/api/teams")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isOk()
+        );
+    }
+
+}
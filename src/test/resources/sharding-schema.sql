@@ -0,0 +1,63 @@
+create table if not exists m_tournaments (
+    id uuid not null primary key,
+    name varchar(255) not null,
+    location varchar(255) not null,
+    start_date date not null,
+    end_date date not null,
+    is_full boolean not null
+);
+
+create table if not exists t_teams (
+    id uuid not null primary key,
+    tournament_id uuid not null references m_tournaments (id),
+    name varchar(255) not null
+);
+
+create table if not exists t_matches (
+    id uuid not null primary key,
+    tournament_id uuid not null references m_tournaments (id),
+    date_time timestamp(6) not null,
+    home_id uuid not null references t_teams (id),
+    away_id uuid not null references t_teams (id),
+    home_score integer,
+    away_score integer
+);
+
+create table if not exists t_brackets (
+    id uuid not null primary key,
+    tournament_id uuid not null references m_tournaments (id),
+    format varchar(255) not null,
+    seeds varchar(65535) not null,
+    start_date_time timestamp(6) not null,
+    round_interval_hours integer not null,
+    revision integer not null
+);
+
+create table if not exists t_archived_tournaments (
+    id uuid not null primary key,
+    name varchar(255) not null,
+    location varchar(255) not null,
+    start_date date not null,
+    end_date date not null,
+    is_full boolean not null,
+    archived_at bigint not null,
+    teams varbinary(16777215) not null,
+    matches varbinary(16777215) not null
+);
+
+create table if not exists t_job_locks (
+    id uuid not null primary key,
+    name varchar(255) not null,
+    owner varchar(255) not null,
+    locked_until bigint not null
+);
+
+create table if not exists t_feed_versions (
+    id uuid not null primary key,
+    version bigint not null
+);
+
+create index if not exists idx_teams_tournament_name on t_teams (tournament_id, name, id);
+create index if not exists idx_matches_tournament_date_time on t_matches (tournament_id, date_time);
+create index if not exists idx_matches_home_date_time on t_matches (home_id, date_time);
+create index if not exists idx_matches_away_date_time on t_matches (away_id, date_time);